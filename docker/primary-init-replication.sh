@@ -0,0 +1,9 @@
+#!/bin/sh
+# Создает пользователя для потоковой репликации и разрешает ему подключение к основной БД.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<SQL
+create role $REPLICATION_USER with replication login password '$REPLICATION_PASSWORD';
+SQL
+
+echo "host replication $REPLICATION_USER all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,16 @@
+#!/bin/sh
+# Запускает реплику: при первом старте копирует основную БД через pg_basebackup
+# и настраивает потоковую репликацию (standby.signal и primary_conninfo создаются ключом -R).
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup --host="$PRIMARY_HOST" \
+            --username="$REPLICATION_USER" --pgdata="$PGDATA" --wal-method=stream --write-recovery-conf; do
+        echo "Основная БД недоступна, повтор через 2 с"
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+    chmod 0700 "$PGDATA"
+fi
+
+exec postgres -c hot_standby=on
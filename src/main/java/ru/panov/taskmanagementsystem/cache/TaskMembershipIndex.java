@@ -0,0 +1,191 @@
+package ru.panov.taskmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.panov.taskmanagementsystem.notification.PgNotificationHandler;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Индекс участников задач в памяти: для каждой задачи хранит ID автора и набор ID исполнителей
+ * в виде примитивной хеш-таблицы, поэтому проверка прав на комментирование
+ * не загружает исполнителей из БД и не создает объектов. При промахе участники задачи читаются
+ * из БД одним запросом. Запись может отставать от только что зафиксированного изменения
+ * участников, поэтому отрицательный ответ вызывающий код перепроверяет по БД.
+ * Индекс ограничен свойством {@code task-membership-index.max-size} и при старте прогревается
+ * последними измененными задачами ({@code task-membership-index.warm-up-size}).
+ * <p>
+ * Записи, изменяющие состав участников, вызывают {@link #invalidate(Long)}: запись удаляется
+ * локально, а после фиксации транзакции и на всех экземплярах приложения через канал
+ * PostgreSQL {@value #CHANNEL}.
+ */
+@Component
+@Slf4j
+public class TaskMembershipIndex implements PgNotificationHandler {
+    public static final String CHANNEL = "task_membership";
+    private static final String MEMBERS_SELECT = """
+            select t.id, t.user_id,
+                   array(select tp.performer_id from dbo.tasks_performers tp where tp.task_id = t.id)
+            from dbo.tasks t
+            """;
+    private static final String MEMBERS_SQL = MEMBERS_SELECT + "where t.id = ?";
+    private static final String WARM_UP_SQL = MEMBERS_SELECT + "order by t.updated desc limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int warmUpSize;
+    private final Cache<Long, Members> members;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TaskMembershipIndex(JdbcTemplate jdbcTemplate,
+                               @Value("${task-membership-index.max-size:100000}") long maxSize,
+                               @Value("${task-membership-index.warm-up-size:10000}") int warmUpSize,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.warmUpSize = warmUpSize;
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "task.membership");
+    }
+
+    /**
+     * Проверяет, является ли пользователь автором или исполнителем задачи.
+     *
+     * @param taskId ID задачи.
+     * @param userId ID пользователя.
+     * @return {@code true}, если пользователь участвует в задаче; {@code false}, если не участвует
+     * или задачи не существует.
+     */
+    public boolean isMember(Long taskId, Long userId) {
+        Members taskMembers = get(taskId);
+        return taskMembers != null && (taskMembers.owner == userId || taskMembers.hasPerformer(userId));
+    }
+
+    /**
+     * Удаляет участников задачи из индекса текущего экземпляра и сообщает об изменении
+     * всем экземплярам приложения. Уведомление, отправленное внутри транзакции,
+     * доставляется только после ее фиксации, поэтому запись, прочитанная до фиксации, тоже удаляется.
+     *
+     * @param taskId ID задачи, у которой изменились автор или исполнители.
+     */
+    public void invalidate(Long taskId) {
+        evict(taskId);
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, taskId.toString());
+    }
+
+    /**
+     * Загружает в индекс участников последних измененных задач.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long generation = invalidations.get();
+        List<Members> loaded = jdbcTemplate.query(WARM_UP_SQL, TaskMembershipIndex::mapMembers, warmUpSize);
+        if (invalidations.get() == generation) {
+            loaded.forEach(taskMembers -> members.asMap().putIfAbsent(taskMembers.taskId, taskMembers));
+        }
+        log.info("Индекс участников задач прогрет: {} задач", loaded.size());
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        evict(Long.valueOf(payload));
+    }
+
+    @Override
+    public void onReconnect() {
+        invalidations.incrementAndGet();
+        members.invalidateAll();
+    }
+
+    private Members get(Long taskId) {
+        Members taskMembers = members.getIfPresent(taskId);
+        if (taskMembers == null) {
+            long generation = invalidations.get();
+            List<Members> loaded = jdbcTemplate.query(MEMBERS_SQL, TaskMembershipIndex::mapMembers, taskId);
+            if (loaded.isEmpty()) {
+                return null;
+            }
+            taskMembers = loaded.get(0);
+            if (invalidations.get() == generation) {
+                members.put(taskId, taskMembers);
+            }
+        }
+        return taskMembers;
+    }
+
+    private void evict(Long taskId) {
+        invalidations.incrementAndGet();
+        members.invalidate(taskId);
+    }
+
+    private static Members mapMembers(ResultSet rs, int rowNum) throws SQLException {
+        Array array = rs.getArray(3);
+        Long[] performerIds = (Long[]) array.getArray();
+        array.free();
+        long[] ids = new long[performerIds.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = performerIds[i];
+        }
+        return new Members(rs.getLong(1), rs.getLong(2), ids);
+    }
+
+    /**
+     * Участники одной задачи. Исполнители хранятся в хеш-таблице с открытой адресацией
+     * (0 означает пустую ячейку, ID пользователей положительны).
+     */
+    static final class Members {
+        private final long taskId;
+        private final long owner;
+        private final long[] performers;
+
+        Members(long taskId, long owner, long[] performerIds) {
+            this.taskId = taskId;
+            this.owner = owner;
+            int capacity = 2;
+            while (capacity < performerIds.length * 2) {
+                capacity <<= 1;
+            }
+            this.performers = new long[capacity];
+            for (long performerId : performerIds) {
+                int slot = slot(performerId);
+                while (performers[slot] != 0 && performers[slot] != performerId) {
+                    slot = (slot + 1) & (performers.length - 1);
+                }
+                performers[slot] = performerId;
+            }
+        }
+
+        boolean hasPerformer(long userId) {
+            int slot = slot(userId);
+            while (performers[slot] != 0) {
+                if (performers[slot] == userId) {
+                    return true;
+                }
+                slot = (slot + 1) & (performers.length - 1);
+            }
+            return false;
+        }
+
+        private int slot(long id) {
+            return Long.hashCode(id * 0x9E3779B97F4A7C15L) & (performers.length - 1);
+        }
+    }
+}
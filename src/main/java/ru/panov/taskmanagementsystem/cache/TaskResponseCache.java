@@ -0,0 +1,377 @@
+package ru.panov.taskmanagementsystem.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Кэш сериализованных в JSON представлений задач вне кучи JVM.
+ * Записи хранятся в прямых {@link ByteBuffer} (слэбах) фиксированного размера, суммарный объем
+ * которых ограничен бюджетом {@code task-response-cache.max-size}. Каждый слэб при первом
+ * использовании нарезается на блоки одного размерного класса (степени двойки), вытеснение LRU
+ * выполняется внутри размерного класса. Если бюджет исчерпан, а у размерного класса нет ни одного слэба,
+ * он забирает свободный слэб или слэб с самой давно запрошенной записью другого класса: записи этого слэба
+ * вытесняются, и слэб нарезается заново, поэтому распределение слэбов следует за изменением размеров
+ * представлений. Запись действительна только для той даты изменения представления, с которой она сохранена:
+ * наибольшей из дат изменения задачи, ее статуса и исполнителей. Поэтому изменение задачи, переименование
+ * ее статуса или исполнителя на любом экземпляре приложения делает запись устаревшей.
+ * <p>
+ * Найденная запись закрепляется до закрытия {@link CachedJson} и пишется в поток ответа из слэба частями
+ * через буфер канала (не больше 8 КБ), а не копируется целиком в новый массив в куче; блок закрепленной
+ * записи не переиспользуется, даже если запись удалена.
+ */
+@Component
+@Slf4j
+public class TaskResponseCache {
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final List<Slab> slabs = new ArrayList<>();
+    private final SizeClass[] sizeClasses;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long clock;
+
+    public TaskResponseCache(@Value("${task-response-cache.max-size:64MB}") DataSize maxSize,
+                             @Value("${task-response-cache.slab-size:1MB}") DataSize slabSize,
+                             MeterRegistry meterRegistry) {
+        this.slabSize = Math.toIntExact(slabSize.toBytes());
+        this.maxSlabs = Math.toIntExact(maxSize.toBytes() / this.slabSize);
+        List<SizeClass> classes = new ArrayList<>();
+        for (int chunkSize = MIN_CHUNK_SIZE; chunkSize <= this.slabSize; chunkSize *= 2) {
+            classes.add(new SizeClass(chunkSize));
+        }
+        this.sizeClasses = classes.toArray(SizeClass[]::new);
+        this.hits = Counter.builder("task.response.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("task.response.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("task.response.cache.evictions").register(meterRegistry);
+        Gauge.builder("task.response.cache.size", this, TaskResponseCache::allocatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Кэш представлений задач: бюджет {} Б, слэб {} Б", (long) maxSlabs * this.slabSize, this.slabSize);
+    }
+
+    /**
+     * Возвращает сохраненное представление задачи, если оно сохранено для той же даты изменения представления.
+     * Устаревшая запись удаляется. Возвращенное представление закреплено до вызова {@link CachedJson#close()}.
+     *
+     * @param taskId  ID задачи.
+     * @param updated текущая дата изменения представления задачи.
+     * @return JSON задачи или {@code null}, если записи нет или она устарела.
+     */
+    public CachedJson get(Long taskId, LocalDateTime updated) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(taskId);
+            if (entry == null || !entry.updated.equals(updated)) {
+                if (entry != null) {
+                    remove(entry);
+                }
+                misses.increment();
+                return null;
+            }
+            entry.sizeClass.lru.get(taskId);
+            entry.accessed = ++clock;
+            entry.pins++;
+            Slab slab = slabs.get(entry.slab);
+            slab.pins++;
+            hits.increment();
+            return new CachedJson(entry, slab.buffer.slice(entry.offset, entry.length));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Сохраняет представление задачи для указанной даты изменения представления.
+     * Представления больше размера слэба не сохраняются.
+     *
+     * @param taskId  ID задачи.
+     * @param updated дата изменения представления задачи, для которой оно получено.
+     * @param json    JSON задачи.
+     */
+    public void put(Long taskId, LocalDateTime updated, byte[] json) {
+        SizeClass sizeClass = sizeClassFor(json.length);
+        if (sizeClass == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.get(taskId);
+            if (previous != null) {
+                remove(previous);
+            }
+            long chunk = allocate(sizeClass);
+            if (chunk < 0) {
+                return;
+            }
+            Entry entry = new Entry(taskId, updated, sizeClass, (int) (chunk >>> 32), (int) chunk, json.length);
+            entry.accessed = ++clock;
+            Slab slab = slabs.get(entry.slab);
+            slab.used++;
+            slab.buffer.put(entry.offset, json);
+            entries.put(taskId, entry);
+            sizeClass.lru.put(taskId, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Удаляет представление задачи.
+     *
+     * @param taskId ID задачи.
+     */
+    public void evict(Long taskId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(taskId);
+            if (entry != null) {
+                remove(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long allocatedBytes() {
+        lock.lock();
+        try {
+            return (long) slabs.size() * slabSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SizeClass sizeClassFor(int length) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (length <= sizeClass.chunkSize) {
+                return sizeClass;
+            }
+        }
+        return null;
+    }
+
+    private long allocate(SizeClass sizeClass) {
+        Long chunk = sizeClass.free.poll();
+        if (chunk != null) {
+            return chunk;
+        }
+        if (slabs.size() < maxSlabs) {
+            slabs.add(new Slab(ByteBuffer.allocateDirect(slabSize)));
+            carve(slabs.size() - 1, sizeClass);
+            return sizeClass.free.poll();
+        }
+        Iterator<Entry> eldest = sizeClass.lru.values().iterator();
+        if (eldest.hasNext()) {
+            Entry victim = eldest.next();
+            remove(victim);
+            evictions.increment();
+            Long freed = sizeClass.free.poll();
+            return freed != null ? freed : -1;
+        }
+        int slab = donorSlab(sizeClass);
+        if (slab < 0) {
+            return -1;
+        }
+        reassign(slab, sizeClass);
+        return sizeClass.free.poll();
+    }
+
+    /**
+     * Выбирает слэб, который можно отдать размерному классу без слэбов: сначала слэб без записей,
+     * иначе слэб, в котором лежит самая давно запрошенная запись другого класса.
+     * Слэбы с закрепленными записями не выбираются.
+     */
+    private int donorSlab(SizeClass sizeClass) {
+        for (int i = 0; i < slabs.size(); i++) {
+            Slab slab = slabs.get(i);
+            if (slab.owner != sizeClass && slab.used == 0) {
+                return i;
+            }
+        }
+        int donor = -1;
+        long coldest = Long.MAX_VALUE;
+        for (SizeClass other : sizeClasses) {
+            if (other == sizeClass) {
+                continue;
+            }
+            for (Entry entry : other.lru.values()) {
+                if (slabs.get(entry.slab).pins == 0) {
+                    if (entry.accessed < coldest) {
+                        coldest = entry.accessed;
+                        donor = entry.slab;
+                    }
+                    break;
+                }
+            }
+        }
+        return donor;
+    }
+
+    private void reassign(int slab, SizeClass sizeClass) {
+        SizeClass previous = slabs.get(slab).owner;
+        previous.lru.values().removeIf(entry -> {
+            if (entry.slab != slab) {
+                return false;
+            }
+            entries.remove(entry.taskId);
+            evictions.increment();
+            return true;
+        });
+        previous.free.removeIf(chunk -> (int) (chunk >>> 32) == slab);
+        slabs.get(slab).used = 0;
+        carve(slab, sizeClass);
+    }
+
+    private void carve(int slab, SizeClass sizeClass) {
+        slabs.get(slab).owner = sizeClass;
+        for (int offset = 0; offset + sizeClass.chunkSize <= slabSize; offset += sizeClass.chunkSize) {
+            sizeClass.free.add(address(slab, offset));
+        }
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.taskId);
+        entry.sizeClass.lru.remove(entry.taskId);
+        entry.removed = true;
+        if (entry.pins == 0) {
+            release(entry);
+        }
+    }
+
+    private void release(Entry entry) {
+        slabs.get(entry.slab).used--;
+        entry.sizeClass.free.add(address(entry.slab, entry.offset));
+    }
+
+    private void unpin(Entry entry) {
+        lock.lock();
+        try {
+            entry.pins--;
+            slabs.get(entry.slab).pins--;
+            if (entry.removed && entry.pins == 0) {
+                release(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long address(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static final class SizeClass {
+        private final int chunkSize;
+        private final ArrayDeque<Long> free = new ArrayDeque<>();
+        private final LinkedHashMap<Long, Entry> lru = new LinkedHashMap<>(16, 0.75f, true);
+
+        private SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    private static final class Slab {
+        private final ByteBuffer buffer;
+        private SizeClass owner;
+        private int used;
+        private int pins;
+
+        private Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Entry {
+        private final Long taskId;
+        private final LocalDateTime updated;
+        private final SizeClass sizeClass;
+        private final int slab;
+        private final int offset;
+        private final int length;
+        private long accessed;
+        private int pins;
+        private boolean removed;
+
+        private Entry(Long taskId, LocalDateTime updated, SizeClass sizeClass, int slab, int offset, int length) {
+            this.taskId = taskId;
+            this.updated = updated;
+            this.sizeClass = sizeClass;
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Закрепленное представление задачи в слэбе. Пока представление не закрыто, его блок не переиспользуется.
+     */
+    public final class CachedJson implements AutoCloseable {
+        private final Entry entry;
+        private final ByteBuffer json;
+        private boolean closed;
+
+        private CachedJson(Entry entry, ByteBuffer json) {
+            this.entry = entry;
+            this.json = json;
+        }
+
+        /**
+         * @return размер представления в байтах.
+         */
+        public int length() {
+            return entry.length;
+        }
+
+        /**
+         * Записывает представление в поток из слэба. {@link Channels#newChannel(OutputStream)} переносит байты
+         * в поток через собственный буфер в куче размером не больше 8 КБ: API сервлетов принимает только
+         * массивы, поэтому полностью без копирования в кучу ответ не записать.
+         *
+         * @param outputStream поток ответа.
+         * @throws IOException если запись в поток не удалась.
+         */
+        public void writeTo(OutputStream outputStream) throws IOException {
+            ByteBuffer source = json.duplicate();
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+
+        /**
+         * Снимает закрепление представления. Повторный вызов ничего не делает.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                unpin(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.panov.taskmanagementsystem.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Конфигурация компактных двоичных форматов ответов для внутренних потребителей API.
+ * Помимо JSON ответы сериализуются в CBOR ({@code application/cbor}) и Smile
+ * ({@code application/x-jackson-smile}) в зависимости от заголовка Accept; тела запросов
+ * в этих форматах принимаются по заголовку Content-Type. Конвертеры используют настройки Jackson
+ * приложения, поэтому двоичное представление содержит те же поля, что и JSON.
+ * Без заголовка Accept ответ, как и прежде, возвращается в JSON. Карточка задачи
+ * ({@code GET /tasks/{task_id}}) отдается только в JSON из кэша готовых представлений.
+ * <p>
+ * Ответы эндпоинтов, поддерживающих несколько форматов, содержат заголовок {@code Vary: Accept},
+ * чтобы промежуточные кэши не отдавали клиенту JSON представление, сохраненное для CBOR, и наоборот.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod handlerMethod && produces(handlerMethod).length > 1) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Возвращает форматы, объявленные для метода контроллера: {@code produces} метода заменяет
+     * {@code produces} класса. Атрибут запроса с допустимыми форматами не подходит: он содержит только
+     * форматы, совместимые с заголовком Accept текущего запроса.
+     */
+    private static String[] produces(HandlerMethod handlerMethod) {
+        RequestMapping methodMapping =
+                AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequestMapping.class);
+        if (methodMapping != null && methodMapping.produces().length > 0) {
+            return methodMapping.produces();
+        }
+        RequestMapping typeMapping =
+                AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequestMapping.class);
+        return typeMapping != null ? typeMapping.produces() : new String[0];
+    }
+}
@@ -0,0 +1,17 @@
+package ru.panov.taskmanagementsystem.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация кэша справочных данных.
+ * Кэши создаются Caffeine с ограничением размера и временем жизни записей
+ * (параметры задаются свойством {@code spring.cache.caffeine.spec}).
+ * Статистика попаданий, промахов и вытеснений публикуется в метриках {@code cache.*}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String STATUSES_CACHE = "statuses";
+    public static final String USERS_CACHE = "users";
+}
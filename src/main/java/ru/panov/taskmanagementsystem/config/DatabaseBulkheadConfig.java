@@ -0,0 +1,50 @@
+package ru.panov.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация ограничителя одновременного доступа к БД.
+ * Оборачивает пул Hikari в {@link BulkheadDataSource} с числом разрешений, равным размеру пула,
+ * чтобы при большом числе одновременных запросов (в том числе на виртуальных потоках)
+ * они дешево ждали в очереди до {@code db.bulkhead.max-wait}, а не завершались по таймауту пула.
+ * Отключается свойством {@code db.bulkhead.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+    /**
+     * Оборачивает пул соединений в ограничитель.
+     *
+     * @param maxWait максимальное время ожидания соединения в очереди.
+     * @return постпроцессор бинов, оборачивающий {@link HikariDataSource}. Выполняется раньше
+     * остальных постпроцессоров, которые могут обернуть пул (например, {@link DatabaseReplicaConfig}).
+     */
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Value("${db.bulkhead.max-wait:30s}") Duration maxWait) {
+        return new BulkheadPostProcessor(maxWait);
+    }
+
+    private record BulkheadPostProcessor(Duration maxWait) implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource) {
+                return new BulkheadDataSource(dataSource, dataSource.getMaximumPoolSize(), maxWait);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ru.panov.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Конфигурация чтения с реплик PostgreSQL.
+ * Оборачивает основной источник данных в {@link ReplicaRoutingDataSource}: транзакции
+ * {@code @Transactional(readOnly = true)} выполняются на репликах из {@code db.replica.urls}
+ * (через запятую), остальные запросы на основной БД. Отставание реплик проверяется
+ * каждые {@code db.replica.lag-check-interval}; реплики, отстающие больше {@code db.replica.max-lag},
+ * не используются. После пишущей транзакции пользователь читает с основной БД
+ * в течение {@code db.replica.sticky-window} на всех экземплярах приложения.
+ * Включается свойством {@code db.replica.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+public class DatabaseReplicaConfig {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Оборачивает основной источник данных в маршрутизатор чтения на реплики.
+     * Выполняется после {@link DatabaseBulkheadConfig}, поэтому ограничитель остается
+     * на пуле основной БД; пулы реплик получают собственные ограничители.
+     *
+     * @param urls              JDBC URL реплик через запятую.
+     * @param username          пользователь БД реплик.
+     * @param password          пароль БД реплик.
+     * @param maximumPoolSize   размер пула каждой реплики.
+     * @param connectionTimeout время ожидания соединения с репликой, после которого чтение уходит на основную БД.
+     * @param maxLag            максимальное отставание реплики, при котором с нее читают.
+     * @param stickyWindow      время чтения с основной БД после пишущей транзакции пользователя.
+     * @param bulkheadEnabled   включен ли ограничитель одновременного доступа к БД.
+     * @param maxWait           максимальное время ожидания соединения в очереди ограничителя.
+     * @return постпроцессор бинов, оборачивающий основной {@link DataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(
+            @Value("${db.replica.urls}") String[] urls,
+            @Value("${db.replica.username:${spring.datasource.username}}") String username,
+            @Value("${db.replica.password:${spring.datasource.password}}") String password,
+            @Value("${db.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize,
+            @Value("${db.replica.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${db.replica.max-lag:1s}") Duration maxLag,
+            @Value("${db.replica.sticky-window:5s}") Duration stickyWindow,
+            @Value("${db.bulkhead.enabled:true}") boolean bulkheadEnabled,
+            @Value("${db.bulkhead.max-wait:30s}") Duration maxWait) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && DATA_SOURCE_BEAN.equals(beanName)) {
+                    Map<String, DataSource> replicas = new LinkedHashMap<>();
+                    for (int i = 0; i < urls.length; i++) {
+                        HikariDataSource replica = new HikariDataSource();
+                        replica.setPoolName("replica-" + i);
+                        replica.setJdbcUrl(urls[i].trim());
+                        replica.setUsername(username);
+                        replica.setPassword(password);
+                        replica.setMaximumPoolSize(maximumPoolSize);
+                        replica.setConnectionTimeout(connectionTimeout.toMillis());
+                        replica.setReadOnly(true);
+                        replicas.put(replica.getPoolName(), bulkheadEnabled
+                                ? new BulkheadDataSource(replica, maximumPoolSize, maxWait)
+                                : replica);
+                    }
+                    return new LazyConnectionDataSourceProxy(
+                            new ReplicaRoutingDataSource(primary, replicas, maxLag, stickyWindow));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Освобождает соединение после каждой транзакции, а не при закрытии сессии Hibernate,
+     * чтобы в рамках одного HTTP-запроса (open-in-view) каждая транзакция получала соединение
+     * с нужной БД: читающая с реплики, пишущая с основной.
+     *
+     * @return настройка свойств Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Создает монитор отставания реплик.
+     *
+     * @param dataSource    основной источник данных приложения.
+     * @param interval      интервал проверки отставания.
+     * @param meterRegistry реестр метрик.
+     * @return монитор отставания реплик.
+     * @throws SQLException если источник данных не содержит {@link ReplicaRoutingDataSource}.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource,
+                                               @Value("${db.replica.lag-check-interval:1s}") Duration interval,
+                                               MeterRegistry meterRegistry) throws SQLException {
+        return new ReplicaLagMonitor(dataSource.unwrap(ReplicaRoutingDataSource.class), interval, meterRegistry);
+    }
+
+    /**
+     * Создает обработчик отметок о пишущих транзакциях, полученных с других экземпляров приложения.
+     *
+     * @param dataSource основной источник данных приложения.
+     * @return обработчик уведомлений канала {@value ReplicaRoutingDataSource#CHANNEL}.
+     * @throws SQLException если источник данных не содержит {@link ReplicaRoutingDataSource}.
+     */
+    @Bean
+    public ReplicaStickinessHandler replicaStickinessHandler(DataSource dataSource) throws SQLException {
+        return new ReplicaStickinessHandler(dataSource.unwrap(ReplicaRoutingDataSource.class));
+    }
+}
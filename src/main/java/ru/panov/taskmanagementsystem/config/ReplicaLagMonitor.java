@@ -0,0 +1,78 @@
+package ru.panov.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически проверяет отставание реплик {@link ReplicaRoutingDataSource}
+ * и публикует его в метрике {@code db.replica.lag}. При остановке приложения закрывает пулы реплик.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Duration interval;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, Duration interval,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.interval = interval;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        routingDataSource.replicaDataSources().forEach(this::bindMetrics);
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        routingDataSource.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void check() {
+        try {
+            routingDataSource.checkReplicas();
+        } catch (RuntimeException e) {
+            log.error("Ошибка проверки отставания реплик", e);
+        }
+    }
+
+    private void bindMetrics(String replica, DataSource dataSource) {
+        Gauge.builder("db.replica.lag", routingDataSource, routing -> routing.lagMillis(replica))
+                .tag("replica", replica)
+                .baseUnit("milliseconds")
+                .description("Отставание реплики от основной БД, -1 если реплика недоступна")
+                .register(meterRegistry);
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                dataSource.unwrap(HikariDataSource.class).setMetricRegistry(meterRegistry);
+            }
+        } catch (SQLException e) {
+            log.warn("Не удалось зарегистрировать метрики пула реплики {}", replica, e);
+        }
+    }
+}
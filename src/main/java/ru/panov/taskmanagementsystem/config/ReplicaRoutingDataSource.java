@@ -0,0 +1,231 @@
+package ru.panov.taskmanagementsystem.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплики PostgreSQL,
+ * а остальные соединения на основную БД. Реплики выбираются по кругу среди доступных:
+ * реплика исключается, если ее отставание больше {@code maxLag}, к ней не удалось подключиться
+ * или ее WAL receiver не получает журнал с основной БД (статус в {@code pg_stat_wal_receiver}
+ * не {@code streaming}), и возвращается после следующей успешной проверки {@link #checkReplicas()}.
+ * Статус WAL receiver виден только пользователю с правами {@code pg_read_all_stats}; без них
+ * реплика считается отключенной и чтение идет в основную БД.
+ * Если доступных реплик нет, чтение выполняется на основной БД.
+ * <p>
+ * Пользователь, начавший пишущую транзакцию, в течение {@code stickyWindow} читает с основной БД,
+ * чтобы сразу видеть свои изменения. Отметка о записи сохраняется локально и рассылается остальным экземплярам
+ * приложения уведомлением в канал {@value #CHANNEL} на соединении пишущей транзакции
+ * (см. {@link ReplicaStickinessHandler}), поэтому следующее чтение на другом экземпляре тоже идет в основную БД.
+ * Гарантия действует, если уведомление получено раньше следующего запроса пользователя; отметки,
+ * отправленные, пока слушатель уведомлений переподключался, теряются. Решение принимается при получении соединения,
+ * поэтому источник оборачивается в {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * к этому моменту признак {@code readOnly} транзакции уже установлен.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final String LAG_SQL = """
+            select case
+                       when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then null
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end""";
+    private static final long UNKNOWN_LAG = -1;
+    public static final String CHANNEL = "replica_sticky_writers";
+    private static final String NOTIFY_SQL = "select pg_notify(?, ?)";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, Duration stickyWindow) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readConnection();
+        }
+        Connection connection = primary.getConnection();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            String user = currentUser();
+            if (user != null) {
+                markWriter(user);
+                try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+                    statement.setString(1, CHANNEL);
+                    statement.setString(2, user);
+                    statement.execute();
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Отмечает, что пользователь выполнил пишущую транзакцию: в течение {@code stickyWindow}
+     * его транзакции только для чтения выполняются на основной БД.
+     *
+     * @param user имя пользователя.
+     */
+    public void markWriter(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    /**
+     * Возвращает соединение с основной БД с указанными учетными данными.
+     * Пулы реплик настроены на собственного пользователя, поэтому такие соединения не маршрутизируются.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Измеряет отставание каждой реплики и обновляет список доступных для чтения реплик.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                lag = rs.getLong(1);
+                if (rs.wasNull()) {
+                    if (replica.available) {
+                        log.warn("Реплика {} не получает журнал с основной БД", replica.name);
+                    }
+                    lag = UNKNOWN_LAG;
+                }
+            } catch (SQLException e) {
+                if (replica.available) {
+                    log.warn("Реплика {} недоступна: {}", replica.name, e.getMessage());
+                }
+                lag = UNKNOWN_LAG;
+            }
+            replica.lagMillis = lag;
+            boolean available = lag != UNKNOWN_LAG && lag <= maxLagMillis;
+            if (available != replica.available && lag != UNKNOWN_LAG) {
+                log.info("Реплика {} {} для чтения, отставание {} мс",
+                        replica.name, available ? "доступна" : "исключена", lag);
+            }
+            replica.available = available;
+        }
+    }
+
+    /**
+     * Возвращает последнее измеренное отставание реплики.
+     *
+     * @param replica имя реплики.
+     * @return отставание в миллисекундах; -1, если реплика недоступна или еще не проверялась.
+     */
+    public long lagMillis(String replica) {
+        return replicas.stream()
+                .filter(candidate -> candidate.name.equals(replica))
+                .findFirst()
+                .map(candidate -> candidate.lagMillis)
+                .orElse(UNKNOWN_LAG);
+    }
+
+    /**
+     * Возвращает источники данных реплик.
+     *
+     * @return источник данных по имени реплики.
+     */
+    public Map<String, DataSource> replicaDataSources() {
+        return replicas.stream()
+                .collect(Collectors.toMap(replica -> replica.name, replica -> replica.dataSource,
+                        (first, second) -> first, LinkedHashMap::new));
+    }
+
+    /**
+     * Закрывает пулы соединений реплик.
+     */
+    public void close() {
+        for (Replica replica : replicas) {
+            try {
+                if (replica.dataSource.isWrapperFor(Closeable.class)) {
+                    replica.dataSource.unwrap(Closeable.class).close();
+                }
+            } catch (SQLException | IOException e) {
+                log.warn("Не удалось закрыть пул реплики {}", replica.name, e);
+            }
+        }
+    }
+
+    private Connection readConnection() throws SQLException {
+        String user = currentUser();
+        if (user == null || recentWriters.getIfPresent(user) == null) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.available) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.available = false;
+                        log.warn("Реплика {} исключена для чтения: {}", replica.name, e.getMessage());
+                    }
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = UNKNOWN_LAG;
+        private volatile boolean available;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.panov.taskmanagementsystem.config;
+
+import lombok.RequiredArgsConstructor;
+import ru.panov.taskmanagementsystem.notification.PgNotificationHandler;
+
+/**
+ * Принимает отметки о пишущих транзакциях пользователей с других экземпляров приложения
+ * из канала PostgreSQL {@value ReplicaRoutingDataSource#CHANNEL}, чтобы следующее чтение пользователя
+ * на этом экземпляре тоже выполнялось на основной БД.
+ */
+@RequiredArgsConstructor
+public class ReplicaStickinessHandler implements PgNotificationHandler {
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    @Override
+    public String channel() {
+        return ReplicaRoutingDataSource.CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        routingDataSource.markWriter(payload);
+    }
+}
@@ -1,7 +1,11 @@
 package ru.panov.taskmanagementsystem.config;
 
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -14,13 +18,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import ru.panov.taskmanagementsystem.security.AdaptiveBCryptPasswordEncoder;
 import ru.panov.taskmanagementsystem.security.JwtAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import static ru.panov.taskmanagementsystem.util.PathConstants.AUTH_PATH;
 
 /**
@@ -33,16 +41,19 @@ import static ru.panov.taskmanagementsystem.util.PathConstants.AUTH_PATH;
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
 
     /**
      * Настраивает цепочку фильтров безопасности для HTTP запросов.
      *
-     * @param httpSecurity конфигурация безопасности HTTP
+     * @param httpSecurity           конфигурация безопасности HTTP
+     * @param authenticationProvider провайдер аутентификации
      * @return настроенная цепочка фильтров безопасности
      * @throws Exception если произошла ошибка во время настройки
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity httpSecurity,
+                                           AuthenticationProvider authenticationProvider) throws Exception {
         httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(AbstractHttpConfigurer::disable)
@@ -63,21 +74,24 @@ public class SecurityConfig {
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated())
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return httpSecurity.build();
     }
 
     /**
      * Создает и настраивает провайдера аутентификации.
+     * После успешного входа хеш пароля с устаревшей сложностью сохраняется заново.
      *
+     * @param passwordEncoder кодировщик паролей
      * @return объект AuthenticationProvider для аутентификации пользователей
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -95,11 +109,26 @@ public class SecurityConfig {
 
     /**
      * Создает и возвращает объект для кодирования паролей.
+     * Сложность BCrypt берется из {@code auth.hashing.strength}, а если она не задана (0),
+     * подбирается при старте под время хеширования {@code auth.hashing.target-duration}.
      *
+     * @param strength       сложность BCrypt или 0 для подбора
+     * @param targetDuration целевое время хеширования одного пароля
+     * @param meterRegistry  реестр метрик для публикации сложности и времени хеширования
      * @return объект PasswordEncoder для кодирования паролей
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.hashing.strength:0}") int strength,
+                                           @Value("${auth.hashing.target-duration:100ms}") Duration targetDuration,
+                                           MeterRegistry meterRegistry) {
+        AdaptiveBCryptPasswordEncoder passwordEncoder = strength > 0
+                ? new AdaptiveBCryptPasswordEncoder(strength)
+                : AdaptiveBCryptPasswordEncoder.calibrated(targetDuration);
+        Gauge.builder("password.hashing.strength", passwordEncoder, AdaptiveBCryptPasswordEncoder::getStrength)
+                .register(meterRegistry);
+        TimeGauge.builder("password.hashing.duration", passwordEncoder, TimeUnit.NANOSECONDS,
+                        encoder -> encoder.getHashDuration().toNanos())
+                .register(meterRegistry);
+        return passwordEncoder;
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ru.panov.taskmanagementsystem.controller;
 
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -8,15 +11,19 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import ru.panov.taskmanagementsystem.exception.DuplicateException;
 import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
+import ru.panov.taskmanagementsystem.exception.PasswordHashingRejectedException;
+
 
 /**
  * Глобальный обработчик исключений.
  */
 @RestControllerAdvice
 public class CustomExceptionHandler {
+    private static final String RETRY_AFTER_SECONDS = "1";
 
     /**
      * Обрабатывает исключение NotFoundException.
@@ -44,6 +51,19 @@ public class CustomExceptionHandler {
                 .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage()));
     }
 
+    /**
+     * Обрабатывает исключение OptimisticLockingFailureException (сущность изменена параллельным запросом).
+     *
+     * @param ex исключение OptimisticLockingFailureException
+     * @return ответ с деталями ошибки и статусом CONFLICT
+     */
+    @ExceptionHandler(value = {OptimisticLockingFailureException.class})
+    protected ResponseEntity<ProblemDetail> optimisticLockingError(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                        "Данные изменены другим запросом, повторите операцию"));
+    }
+
     /**
      * Обрабатывает исключение IllegalArgumentException.
      *
@@ -82,6 +102,20 @@ public class CustomExceptionHandler {
                 .body(ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage()));
     }
 
+    /**
+     * Обрабатывает исключение PasswordHashingRejectedException (пул хеширования паролей перегружен).
+     *
+     * @param ex исключение PasswordHashingRejectedException
+     * @return ответ с деталями ошибки, заголовком Retry-After и статусом SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(value = {PasswordHashingRejectedException.class})
+    protected ResponseEntity<ProblemDetail> passwordHashingRejected(PasswordHashingRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Сервер перегружен запросами аутентификации, повторите попытку позже"));
+    }
+
     /**
      * Обрабатывает исключение BindException.
      *
@@ -101,6 +135,26 @@ public class CustomExceptionHandler {
                 .body(problemDetail);
     }
 
+    /**
+     * Обрабатывает исключение HandlerMethodValidationException, возникающее при проверке
+     * параметров запроса (например, {@code limit} меньше 1).
+     *
+     * @param ex исключение HandlerMethodValidationException
+     * @return ответ с деталями ошибки и статусом BAD_REQUEST
+     */
+    @ExceptionHandler(value = {HandlerMethodValidationException.class})
+    public ResponseEntity<ProblemDetail> handleMethodValidationException(HandlerMethodValidationException ex) {
+        ProblemDetail problemDetail = ProblemDetail
+                .forStatusAndDetail(HttpStatus.BAD_REQUEST, "ошибка валидации");
+        problemDetail.setProperty("errors",
+                ex.getAllErrors().stream()
+                        .map(MessageSourceResolvable::getDefaultMessage)
+                        .toList());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(problemDetail);
+    }
+
     /**
      * Обрабатывает общее исключение.
      *
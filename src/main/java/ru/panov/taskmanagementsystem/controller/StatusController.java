@@ -3,6 +3,7 @@ package ru.panov.taskmanagementsystem.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -10,13 +11,16 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.model.dto.request.StatusRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.StatusResponse;
 import ru.panov.taskmanagementsystem.service.StatusService;
+import ru.panov.taskmanagementsystem.util.EntityVersion;
 
 import java.util.List;
 import java.util.Map;
 
+import static ru.panov.taskmanagementsystem.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static ru.panov.taskmanagementsystem.util.PathConstants.STATUSES_PATH;
 
 /**
@@ -24,7 +28,8 @@ import static ru.panov.taskmanagementsystem.util.PathConstants.STATUSES_PATH;
  * Предоставляет эндпоинты для получения, создания, обновления и удаления статусов задач.
  */
 @RestController
-@RequestMapping(value = STATUSES_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = STATUSES_PATH,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
 @RequiredArgsConstructor
 public class StatusController {
     private final StatusService statusService;
@@ -100,17 +105,21 @@ public class StatusController {
      * @param statusId      ID статуса, который необходимо обновить.
      * @param statusRequest объект запроса, содержащий обновленные данные статуса.
      * @param bindingResult результат валидации.
-     * @return {@link ResponseEntity} без содержимого.
-     * @throws BindException если запрос содержит ошибки валидации.
+     * @param ifMatch       версия статуса из заголовка ETag (опционально).
+     * @return {@link ResponseEntity} без содержимого с новой версией статуса в заголовке ETag.
+     * @throws BindException              если запрос содержит ошибки валидации.
+     * @throws InputDataConflictException если статус изменен другим запросом.
      */
     @Operation(
             summary = "Обновление статуса задач"
     )
-    @PutMapping(value = "/{status_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{status_id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Void> updateStatus(@PathVariable("status_id") Long statusId,
                                              @Valid @RequestBody StatusRequest statusRequest,
-                                             BindingResult bindingResult) throws BindException {
+                                             BindingResult bindingResult,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws BindException {
         if (bindingResult.hasErrors()) {
             if (bindingResult instanceof BindException exception) {
                 throw exception;
@@ -118,8 +127,9 @@ public class StatusController {
                 throw new BindException(bindingResult);
             }
         } else {
-            statusService.update(statusId, statusRequest);
-            return ResponseEntity.noContent().build();
+            Long version = statusService.update(statusId, statusRequest,
+                    EntityVersion.fromIfMatch(ifMatch, () -> statusService.get(statusId).getVersion()));
+            return ResponseEntity.noContent().eTag(new EntityVersion(version).etag()).build();
         }
     }
 }
\ No newline at end of file
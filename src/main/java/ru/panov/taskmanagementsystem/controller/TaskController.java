@@ -1,31 +1,64 @@
 package ru.panov.taskmanagementsystem.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.exception.NotFoundException;
+import ru.panov.taskmanagementsystem.model.ExportFormat;
 import ru.panov.taskmanagementsystem.model.Task;
 import ru.panov.taskmanagementsystem.model.User;
 import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.PerformersRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskBatchRequest;
 import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskBatchResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+import ru.panov.taskmanagementsystem.notification.TaskEventSubscriptions;
 import ru.panov.taskmanagementsystem.reposirory.specifications.TaskSpecification;
 import ru.panov.taskmanagementsystem.service.CommentService;
+import ru.panov.taskmanagementsystem.service.TaskBatchService;
+import ru.panov.taskmanagementsystem.service.TaskExportService;
+import ru.panov.taskmanagementsystem.service.TaskImportService;
 import ru.panov.taskmanagementsystem.service.TaskService;
+import ru.panov.taskmanagementsystem.util.EntityVersion;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+import ru.panov.taskmanagementsystem.util.TaskIdPage;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static ru.panov.taskmanagementsystem.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static ru.panov.taskmanagementsystem.util.PathConstants.TASKS_PATH;
 
 /**
@@ -34,11 +67,26 @@ import static ru.panov.taskmanagementsystem.util.PathConstants.TASKS_PATH;
  * а также управления исполнителями и комментариями к задачам.
  */
 @RestController
-@RequestMapping(value = TASKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = TASKS_PATH,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
 @RequiredArgsConstructor
 public class TaskController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String OFFSET_MIN_MESSAGE = "offset не может быть меньше 0.";
+    private static final String LIMIT_MIN_MESSAGE = "limit не может быть меньше 1.";
+    private static final String PERFORMER_IDS_EMPTY_MESSAGE = "performer_id не может быть пустым.";
+    private static final String PERFORMER_IDS_SIZE_MESSAGE =
+            "За один запрос можно изменить не больше 1000 исполнителей.";
+    private static final List<MediaType> RESPONSE_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType(APPLICATION_SMILE_VALUE));
     private final TaskService taskService;
     private final CommentService commentService;
+    private final TaskImportService taskImportService;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
+    private final TaskEventSubscriptions taskEventSubscriptions;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     /**
      * Создает новую задачу.
@@ -55,7 +103,7 @@ public class TaskController {
             summary = "Создание задачи",
             description = "Создание задачи аутентифицированным пользователем"
     )
-    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest,
                                                    BindingResult bindingResult,
                                                    @AuthenticationPrincipal User user,
@@ -75,53 +123,229 @@ public class TaskController {
         }
     }
 
+    /**
+     * Импортирует задачи в формате NDJSON: каждая строка тела запроса содержит один JSON-объект
+     * с теми же полями, что и запрос на создание задачи.
+     * Тело читается потоком и сохраняется порциями; корректные строки сохраняются,
+     * даже если в других строках есть ошибки.
+     * Эта операция доступна для аутентифицированных пользователей.
+     *
+     * @param body поток с данными задач.
+     * @param user аутентифицированный пользователь.
+     * @return {@link TaskImportResponse} с количеством сохраненных задач и ошибками по номерам строк.
+     */
+    @Operation(
+            summary = "Массовый импорт задач",
+            description = "Импорт задач из NDJSON (одна задача на строку) с отчетом об ошибках по номерам строк"
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TaskImportResponse importTasks(InputStream body,
+                                          @AuthenticationPrincipal User user) {
+        return taskImportService.importTasks(body, user.getId());
+    }
+
+    /**
+     * Выполняет пакет операций над задачами и комментариями за один запрос в одной транзакции.
+     * Операции выполняются по порядку с теми же проверками, что и отдельные запросы;
+     * операция может ссылаться на задачу, созданную ранее в пакете, через {@code taskRef}.
+     * При ошибке любой операции весь пакет отменяется.
+     * Эта операция доступна для аутентифицированных пользователей.
+     *
+     * @param batchRequest  пакет операций.
+     * @param bindingResult результат валидации.
+     * @param user          аутентифицированный пользователь.
+     * @return {@link TaskBatchResponse} с результатами операций в порядке выполнения.
+     * @throws BindException если запрос содержит ошибки валидации.
+     */
+    @Operation(
+            summary = "Пакетное выполнение операций",
+            description = "Выполнение последовательности операций над задачами и комментариями в одной транзакции"
+    )
+    @PostMapping("/batch")
+    public TaskBatchResponse executeBatch(@Valid @RequestBody TaskBatchRequest batchRequest,
+                                          BindingResult bindingResult,
+                                          @AuthenticationPrincipal User user) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException exception) {
+                throw exception;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        }
+        return taskBatchService.execute(batchRequest, user.getId());
+    }
+
     /**
      * Получает все задачи с возможностью фильтрации по заголовку и описанию и пагинацией.
+     * Если передан параметр {@code cursor}, используется keyset-пагинация: смещение игнорируется,
+     * а курсор следующей страницы возвращается в заголовке {@value #NEXT_CURSOR_HEADER}
+     * (заголовок отсутствует на последней странице).
+     * Если передан параметр {@code search}, выполняется полнотекстовый поиск
+     * с сортировкой результатов по релевантности.
+     * Параметры {@code fields} и {@code include} ограничивают представление задач: невостребованные
+     * столбцы, исполнители и комментарии не запрашиваются из БД.
+     * Ответ содержит заголовки ETag и Last-Modified возвращаемой страницы: сначала выбираются ID задач страницы,
+     * затем версия вычисляется только по ним, их статусам и исполнителям;
+     * если страница не изменилась, возвращается 304 без загрузки задач.
      *
      * @param header      заголовок задачи для фильтрации (опционально).
      * @param description описание задачи для фильтрации (опционально).
      * @param offset      смещение для пагинации (по умолчанию 0).
      * @param limit       количество записей на страницу (по умолчанию 20).
-     * @return список объектов {@link TaskResponse}, представляющих все задачи, соответствующие фильтрам.
+     * @param cursor      курсор keyset-пагинации, пустое значение для первой страницы (опционально).
+     * @param search      поисковый запрос для полнотекстового поиска (опционально).
+     * @param fields      перечисленные через запятую поля задачи: header, description, status, priority, userId
+     *                    (опционально; без параметра возвращаются все поля).
+     * @param include     перечисленные через запятую вложенные коллекции: performers, comments
+     *                    (опционально; без параметров fields и include возвращаются обе).
+     * @param webRequest  запрос для проверки заголовков If-None-Match и If-Modified-Since.
+     * @return список объектов {@link TaskResponse}, представляющих все задачи, соответствующие фильтрам,
+     * или {@code null}, если ответ 304.
+     * @throws InputDataConflictException если курсор некорректен или запрошено неизвестное поле.
      */
     @Operation(
-            summary = "Получение всех задач"
+            summary = "Получение всех задач",
+            description = "Получение задач с пагинацией по смещению или, при передаче cursor, " +
+                    "с keyset-пагинацией (курсор следующей страницы в заголовке " + NEXT_CURSOR_HEADER + "). " +
+                    "При передаче search выполняется полнотекстовый поиск с сортировкой по релевантности. " +
+                    "Параметры fields и include ограничивают набор возвращаемых полей и вложенных коллекций"
     )
     @GetMapping
-    public List<TaskResponse> gelAll(@RequestParam(value = "header", required = false) String header,
-                                     @RequestParam(value = "description", required = false) String description,
-                                     @RequestParam(value = "offset", defaultValue = "0") Integer offset,
-                                     @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
-        Specification<Task> specification = Specification.where(null);
-        if (header != null) {
-            specification = specification.and(TaskSpecification.headerContains(header));
+    public ResponseEntity<List<TaskResponse>> gelAll(@RequestParam(value = "header", required = false) String header,
+                                                     @RequestParam(value = "description", required = false) String description,
+                                                     @RequestParam(value = "offset", defaultValue = "0")
+                                                     @Min(value = 0, message = OFFSET_MIN_MESSAGE) Integer offset,
+                                                     @RequestParam(value = "limit", defaultValue = "20")
+                                                     @Min(value = 1, message = LIMIT_MIN_MESSAGE) Integer limit,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "search", required = false) String search,
+                                                     @RequestParam(value = "fields", required = false) String fields,
+                                                     @RequestParam(value = "include", required = false) String include,
+                                                     WebRequest webRequest) {
+        TaskFields taskFields = TaskFields.of(fields, include);
+        if (StringUtils.isNotBlank(search)) {
+            List<Long> ids = taskService.searchIds(search, header, description, PageRequest.of(offset, limit));
+            if (notModified(webRequest, taskService.getVersion(ids))) {
+                return null;
+            }
+            return ResponseEntity.ok(taskService.getAllByIds(ids, taskFields));
         }
-        if (description != null) {
+        Specification<Task> specification = filter(header, description);
+        if (cursor != null) {
+            TaskIdPage page = taskService.getIds(specification, cursor, limit);
+            if (notModified(webRequest, taskService.getVersion(page.ids()))) {
+                return null;
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(taskService.getAllByIds(page.ids(), taskFields));
+        }
+        List<Long> ids = taskService.getIds(specification, PageRequest.of(offset, limit));
+        if (notModified(webRequest, taskService.getVersion(ids))) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getAllByIds(ids, taskFields));
+    }
 
-            specification = specification.and(TaskSpecification.descriptionContains(description));
+    /**
+     * Выгружает все задачи, соответствующие фильтрам, в формате NDJSON или CSV.
+     * Ответ формируется потоково: задачи читаются из БД курсором и сразу записываются в ответ,
+     * поэтому выгрузка не ограничена размером страницы и не требует повторных запросов со смещением.
+     *
+     * @param header      заголовок задачи для фильтрации (опционально).
+     * @param description описание задачи для фильтрации (опционально).
+     * @param format      формат выгрузки: ndjson (по умолчанию) или csv.
+     * @return {@link StreamingResponseBody}, записывающий задачи в ответ.
+     * @throws InputDataConflictException если формат выгрузки не поддерживается.
+     */
+    @Operation(
+            summary = "Выгрузка задач",
+            description = "Потоковая выгрузка всех задач, соответствующих фильтрам, в формате NDJSON или CSV"
+    )
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(value = "header", required = false) String header,
+                                                             @RequestParam(value = "description", required = false) String description,
+                                                             @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = EnumUtils.getEnumIgnoreCase(ExportFormat.class, format);
+        if (exportFormat == null) {
+            throw new InputDataConflictException("Неподдерживаемый формат выгрузки: %s".formatted(format));
         }
-        return taskService.getAll(specification, PageRequest.of(offset, limit));
+        Specification<Task> specification = filter(header, description);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? MediaType.parseMediaType(TEXT_CSV_VALUE)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(outputStream -> taskExportService.export(specification, exportFormat, outputStream));
+    }
+
+    /**
+     * Получает задачу по ее ID вместе с исполнителями и комментариями.
+     * Тело ответа записывается готовым JSON из кэша сериализованных представлений без повторной сериализации
+     * и без копирования всего представления в новый массив. Запись выполняется после завершения транзакции чтения.
+     *
+     * @param taskId   ID задачи.
+     * @param response ответ, в который записывается JSON объекта {@link TaskResponse}.
+     * @throws NotFoundException если задача не найдена.
+     * @throws IOException       если запись ответа не удалась.
+     */
+    @Operation(
+            summary = "Получение задачи",
+            description = "Получение задачи по id вместе с исполнителями и комментариями"
+    )
+    @GetMapping(value = "/{task_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getTask(@PathVariable("task_id") Long taskId, HttpServletResponse response) throws IOException {
+        StreamingResponseBody json = taskService.getJsonById(taskId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        json.writeTo(response.getOutputStream());
+    }
+
+    /**
+     * Открывает поток Server-Sent Events с изменениями задач, автором или исполнителем которых
+     * является аутентифицированный пользователь: обновление задачи, смена статуса, добавление исполнителя,
+     * добавление, изменение и удаление комментариев. Событие {@code RESYNC} означает, что часть событий
+     * могла быть пропущена и клиенту следует перечитать свои задачи.
+     *
+     * @param user аутентифицированный пользователь.
+     * @return {@link SseEmitter}, отправляющий события клиенту.
+     */
+    @Operation(
+            summary = "Подписка на события задач",
+            description = "Поток Server-Sent Events с изменениями задач пользователя вместо периодического опроса"
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(@AuthenticationPrincipal User user) {
+        return taskEventSubscriptions.subscribe(user.getId());
     }
 
     /**
      * Обновляет задачу по ее ID.
      * Эта операция доступна для аутентифицированных пользователей.
+     * Если передан заголовок If-Match, задача обновляется, только пока ее версия не изменилась.
      *
      * @param taskId        ID задачи, которую необходимо обновить.
      * @param task          объект запроса, содержащий обновленные данные задачи.
      * @param bindingResult результат валидации.
+     * @param ifMatch       версия задачи из заголовка ETag (опционально).
      * @param user          аутентифицированный пользователь.
-     * @return {@link ResponseEntity} без содержимого.
-     * @throws BindException если запрос содержит ошибки валидации.
+     * @return {@link ResponseEntity} без содержимого с новой версией задачи в заголовке ETag.
+     * @throws BindException              если запрос содержит ошибки валидации.
+     * @throws InputDataConflictException если задача изменена другим запросом.
      */
     @Operation(
             summary = "Обновление задачи",
             description = "Обновление задачи по ее id"
     )
-    @PutMapping(value = "/{task_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{task_id}")
     public ResponseEntity<Void> updateTask(@PathVariable("task_id") Long taskId,
                                            @Valid @RequestBody TaskRequest task,
                                            BindingResult bindingResult,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                            @AuthenticationPrincipal User user) throws BindException {
         if (bindingResult.hasErrors()) {
             if (bindingResult instanceof BindException exception) {
@@ -130,30 +354,34 @@ public class TaskController {
                 throw new BindException(bindingResult);
             }
         } else {
-            taskService.update(taskId, task, user.getId());
-            return ResponseEntity.noContent().build();
+            Long version = taskService.update(taskId, task, user.getId(), taskVersion(taskId, ifMatch));
+            return ResponseEntity.noContent().eTag(new EntityVersion(version).etag()).build();
         }
     }
 
     /**
      * Обновляет статус задачи по ее ID.
      * Эта операция доступна исполнителям задачи.
+     * Если передан заголовок If-Match, статус меняется, только пока версия задачи не изменилась.
      *
      * @param taskId   ID задачи, для которой обновляется статус.
      * @param statusId ID нового статуса.
+     * @param ifMatch  версия задачи из заголовка ETag (опционально).
      * @param user     аутентифицированный пользователь.
-     * @return {@link ResponseEntity} без содержимого.
+     * @return {@link ResponseEntity} без содержимого с новой версией задачи в заголовке ETag.
+     * @throws InputDataConflictException если задача изменена другим запросом.
      */
     @Operation(
             summary = "Обновление статуса у задачи исполнителями",
             description = "Обновление статуса у конкретной задачи исполнителями"
     )
-    @PutMapping(value = "/{task_id}/statuses/{status_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{task_id}/statuses/{status_id}")
     public ResponseEntity<Void> updateTaskStatus(@PathVariable("task_id") Long taskId,
                                                  @PathVariable("status_id") Long statusId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                  @AuthenticationPrincipal User user) {
-        taskService.updateStatus(taskId, user.getId(), statusId);
-        return ResponseEntity.noContent().build();
+        Long version = taskService.updateStatus(taskId, user.getId(), statusId, taskVersion(taskId, ifMatch));
+        return ResponseEntity.noContent().eTag(new EntityVersion(version).etag()).build();
     }
 
     /**
@@ -178,16 +406,23 @@ public class TaskController {
 
     /**
      * Получает всех исполнителей задачи по ее ID.
+     * Поддерживает условный GET по заголовкам ETag и Last-Modified.
      *
-     * @param taskId ID задачи.
-     * @return список объектов {@link UserResponse}, представляющих исполнителей задачи.
+     * @param taskId     ID задачи.
+     * @param webRequest запрос для проверки заголовков If-None-Match и If-Modified-Since.
+     * @return список объектов {@link UserResponse}, представляющих исполнителей задачи,
+     * или {@code null}, если ответ 304.
      */
     @Operation(
             summary = "Получение всех исполнителей задачи",
             description = "Получить всех исполнителей задачи по ее id"
     )
     @GetMapping("/{task_id}/performers")
-    public List<UserResponse> getAllPerformersByTask(@PathVariable("task_id") Long taskId) {
+    public List<UserResponse> getAllPerformersByTask(@PathVariable("task_id") Long taskId,
+                                                     WebRequest webRequest) {
+        if (notModified(webRequest, taskService.getPerformersVersion(taskId))) {
+            return null;
+        }
         return taskService.getPerformerByTaskId(taskId);
     }
 
@@ -204,7 +439,7 @@ public class TaskController {
             summary = "Назначение исполнителя задаче",
             description = "Назначение исполнителя задаче автором задачи"
     )
-    @PutMapping(value = "/{task_id}/performers/{performer_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{task_id}/performers/{performer_id}")
     public ResponseEntity<Void> addPerformerToTask(@PathVariable("task_id") Long taskId,
                                                    @PathVariable("performer_id") Long performerId,
                                                    @AuthenticationPrincipal User user) {
@@ -212,13 +447,73 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Назначает задаче набор исполнителей за один запрос.
+     * Уже назначенные исполнители пропускаются.
+     * Эта операция доступна автору задачи.
+     *
+     * @param taskId            ID задачи, для которой назначаются исполнители.
+     * @param performersRequest ID назначаемых исполнителей.
+     * @param bindingResult     результат валидации.
+     * @param user              аутентифицированный пользователь.
+     * @return {@link ResponseEntity} без содержимого.
+     * @throws BindException если запрос содержит ошибки валидации.
+     */
+    @Operation(
+            summary = "Назначение исполнителей задаче",
+            description = "Назначение набора исполнителей задаче автором задачи за один запрос"
+    )
+    @PostMapping("/{task_id}/performers")
+    public ResponseEntity<Void> assignPerformersToTask(@PathVariable("task_id") Long taskId,
+                                                       @Valid @RequestBody PerformersRequest performersRequest,
+                                                       BindingResult bindingResult,
+                                                       @AuthenticationPrincipal User user) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException exception) {
+                throw exception;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        }
+        taskService.assignPerformers(taskId, user.getId(), performersRequest.performerIds());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Снимает с задачи набор исполнителей за один запрос.
+     * Пользователи, не назначенные исполнителями, пропускаются.
+     * Эта операция доступна автору задачи.
+     *
+     * @param taskId       ID задачи, с которой снимаются исполнители.
+     * @param performerIds ID снимаемых исполнителей.
+     * @param user         аутентифицированный пользователь.
+     * @return {@link ResponseEntity} без содержимого.
+     */
+    @Operation(
+            summary = "Снятие исполнителей с задачи",
+            description = "Снятие набора исполнителей с задачи автором задачи за один запрос"
+    )
+    @DeleteMapping("/{task_id}/performers")
+    public ResponseEntity<Void> unassignPerformersFromTask(@PathVariable("task_id") Long taskId,
+                                                           @RequestParam("performer_id")
+                                                           @NotEmpty(message = PERFORMER_IDS_EMPTY_MESSAGE)
+                                                           @Size(max = 1000, message = PERFORMER_IDS_SIZE_MESSAGE)
+                                                           Set<Long> performerIds,
+                                                           @AuthenticationPrincipal User user) {
+        taskService.unassignPerformers(taskId, user.getId(), performerIds);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Получает все комментарии к задаче по ее ID с возможностью пагинации.
+     * Поддерживает условный GET по заголовкам ETag и Last-Modified.
      *
-     * @param taskId ID задачи.
-     * @param offset смещение для пагинации (по умолчанию 0).
-     * @param limit  количество записей на страницу (по умолчанию 20).
-     * @return список объектов {@link CommentResponse}, представляющих комментарии к задаче.
+     * @param taskId     ID задачи.
+     * @param offset     смещение для пагинации (по умолчанию 0).
+     * @param limit      количество записей на страницу (по умолчанию 20).
+     * @param webRequest запрос для проверки заголовков If-None-Match и If-Modified-Since.
+     * @return список объектов {@link CommentResponse}, представляющих комментарии к задаче,
+     * или {@code null}, если ответ 304.
      */
     @Operation(
             summary = "Получение всех коментариев к задаче",
@@ -226,8 +521,14 @@ public class TaskController {
     )
     @GetMapping("/{task_id}/comments")
     public List<CommentResponse> getAllCommentsByTask(@PathVariable("task_id") Long taskId,
-                                                      @RequestParam(value = "offset", defaultValue = "0") Integer offset,
-                                                      @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+                                                      @RequestParam(value = "offset", defaultValue = "0")
+                                                      @Min(value = 0, message = OFFSET_MIN_MESSAGE) Integer offset,
+                                                      @RequestParam(value = "limit", defaultValue = "20")
+                                                      @Min(value = 1, message = LIMIT_MIN_MESSAGE) Integer limit,
+                                                      WebRequest webRequest) {
+        if (notModified(webRequest, commentService.commentsVersion(taskId))) {
+            return null;
+        }
         return commentService.commentsByTask(taskId, PageRequest.of(offset, limit));
     }
 
@@ -246,7 +547,7 @@ public class TaskController {
     @Operation(
             summary = "Добавление нового коментария к задаче"
     )
-    @PostMapping(value = "/{task_id}/comments/", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping("/{task_id}/comments/")
     public ResponseEntity<CommentResponse> addCommentToTask(@PathVariable("task_id") Long taskId,
                                                             @Valid @RequestBody CommentRequest commentRequest,
                                                             BindingResult bindingResult,
@@ -299,19 +600,22 @@ public class TaskController {
      * @param commentId      ID комментария, который необходимо обновить.
      * @param commentRequest объект запроса, содержащий обновленные данные комментария.
      * @param bindingResult  результат валидации.
+     * @param ifMatch        версия комментария из заголовка ETag (опционально).
      * @param user           аутентифицированный пользователь.
-     * @return {@link ResponseEntity} без содержимого.
-     * @throws BindException если запрос содержит ошибки валидации.
+     * @return {@link ResponseEntity} без содержимого с новой версией комментария в заголовке ETag.
+     * @throws BindException              если запрос содержит ошибки валидации.
+     * @throws InputDataConflictException если комментарий изменен другим запросом.
      */
     @Operation(
             summary = "Обновление коментария у задачи",
             description = "Обновление коментария у задачи по ее id"
     )
-    @PutMapping(value = "/{task_id}/comments/{comment_id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{task_id}/comments/{comment_id}")
     public ResponseEntity<Void> updateCommentFromTask(@PathVariable("task_id") Long taskId,
                                                       @PathVariable("comment_id") Long commentId,
                                                       @Valid @RequestBody CommentRequest commentRequest,
                                                       BindingResult bindingResult,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                       @AuthenticationPrincipal User user) throws BindException {
         if (bindingResult.hasErrors()) {
             if (bindingResult instanceof BindException exception) {
@@ -320,8 +624,50 @@ public class TaskController {
                 throw new BindException(bindingResult);
             }
         } else {
-            commentService.update(commentId, commentRequest, taskId, user.getId());
-            return ResponseEntity.noContent().build();
+            Long version = commentService.update(commentId, commentRequest, taskId, user.getId(),
+                    EntityVersion.fromIfMatch(ifMatch, () -> commentService.getComment(commentId).getVersion()));
+            return ResponseEntity.noContent().eTag(new EntityVersion(version).etag()).build();
+        }
+    }
+
+    private Long taskVersion(Long taskId, String ifMatch) {
+        return EntityVersion.fromIfMatch(ifMatch, () -> taskService.getTaskById(taskId).getVersion());
+    }
+
+    private boolean notModified(WebRequest webRequest, ResourceVersion version) {
+        return webRequest.checkNotModified(version.etag(negotiatedMediaType(webRequest)),
+                version.lastModifiedMillis());
+    }
+
+    /**
+     * Определяет формат ответа так же, как конвертеры сообщений: первый из поддерживаемых форматов,
+     * совместимый с наиболее предпочтительным типом из заголовка Accept.
+     */
+    private MediaType negotiatedMediaType(WebRequest webRequest) {
+        List<MediaType> acceptableTypes;
+        try {
+            acceptableTypes = contentNegotiationManager.resolveMediaTypes((NativeWebRequest) webRequest);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType acceptable : acceptableTypes) {
+            for (MediaType producible : RESPONSE_MEDIA_TYPES) {
+                if (acceptable.isCompatibleWith(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private Specification<Task> filter(String header, String description) {
+        Specification<Task> specification = Specification.where(null);
+        if (header != null) {
+            specification = specification.and(TaskSpecification.headerContains(header));
+        }
+        if (description != null) {
+            specification = specification.and(TaskSpecification.descriptionContains(description));
         }
+        return specification;
     }
 }
\ No newline at end of file
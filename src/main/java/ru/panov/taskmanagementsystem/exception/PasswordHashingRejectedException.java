@@ -0,0 +1,28 @@
+package ru.panov.taskmanagementsystem.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Исключение, указывающее на то, что пул хеширования паролей перегружен
+ * и запрос аутентификации отклонен без проверки пароля.
+ */
+public class PasswordHashingRejectedException extends RejectedExecutionException {
+    /**
+     * Создает новое исключение PasswordHashingRejectedException с заданным сообщением.
+     *
+     * @param message подробное сообщение, объясняющее причину исключения.
+     */
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Создает новое исключение PasswordHashingRejectedException с заданным сообщением и причиной.
+     *
+     * @param message подробное сообщение, объясняющее причину исключения.
+     * @param cause   исключение, из-за которого запрос был отклонен.
+     */
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
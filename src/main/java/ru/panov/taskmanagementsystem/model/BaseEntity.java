@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -26,4 +27,6 @@ public abstract class BaseEntity {
     @JsonFormat(pattern = "dd.MM.yyyy HH:mm")
     @UpdateTimestamp
     private LocalDateTime updated;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package ru.panov.taskmanagementsystem.model;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -1,40 +1,54 @@
 package ru.panov.taskmanagementsystem.model;
 
 import jakarta.persistence.*;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.*;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.AUTHORIZATION_GRAPH,
+        attributeNodes = @NamedAttributeNode("performers"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @Builder
 public class Task extends BaseEntity {
+    /**
+     * План загрузки для проверки прав и смены статуса: только исполнители.
+     */
+    public static final String AUTHORIZATION_GRAPH = "Task.authorization";
+
     @Column(nullable = false, unique = true)
     private String header;
     @Column(nullable = false)
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id")
     private Status status;
     @Enumerated(value = EnumType.STRING)
     private Priority priority;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
     @OneToMany(mappedBy = "task")
     @OnDelete(action = OnDeleteAction.CASCADE)
     @Fetch(FetchMode.SELECT)
+    @Builder.Default
     private List<Comment> comments = new ArrayList<>();
     @ManyToMany
     @JoinTable(name = "tasks_performers",
             joinColumns = @JoinColumn(name = "task_id"),
             inverseJoinColumns = @JoinColumn(name = "performer_id"))
-    private List<User> performers = new ArrayList<>();
+    @OrderBy("id")
+    @OptimisticLock(excluded = true)
+    @Builder.Default
+    private Set<User> performers = new LinkedHashSet<>();
 }
\ No newline at end of file
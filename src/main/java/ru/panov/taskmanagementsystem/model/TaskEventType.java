@@ -0,0 +1,12 @@
+package ru.panov.taskmanagementsystem.model;
+
+public enum TaskEventType {
+    TASK_UPDATED,
+    STATUS_CHANGED,
+    PERFORMER_ADDED,
+    PERFORMER_REMOVED,
+    COMMENT_ADDED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED,
+    RESYNC
+}
@@ -0,0 +1,12 @@
+package ru.panov.taskmanagementsystem.model;
+
+public enum TaskOperationType {
+    CREATE_TASK,
+    UPDATE_TASK,
+    UPDATE_STATUS,
+    ADD_PERFORMER,
+    DELETE_TASK,
+    ADD_COMMENT,
+    UPDATE_COMMENT,
+    DELETE_COMMENT
+}
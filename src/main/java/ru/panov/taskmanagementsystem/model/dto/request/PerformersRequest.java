@@ -0,0 +1,17 @@
+package ru.panov.taskmanagementsystem.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public record PerformersRequest(
+        @NotEmpty(message = "performerIds не может быть пустым.")
+        @Size(max = 1000, message = "За один запрос можно изменить не больше 1000 исполнителей.")
+        @Schema(description = "id пользователей, назначаемых или снимаемых исполнителями.")
+        Set<@NotNull(message = "id исполнителя не может быть null.")
+        @Positive(message = "id исполнителя не может быть меньше 1.") Long> performerIds) {
+}
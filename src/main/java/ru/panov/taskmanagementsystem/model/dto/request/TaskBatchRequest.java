@@ -0,0 +1,15 @@
+package ru.panov.taskmanagementsystem.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskBatchRequest(
+        @NotEmpty(message = "operations не может быть пустым.")
+        @Size(max = 100, message = "Пакет не может содержать больше 100 операций.")
+        @Schema(description = "Операции в порядке выполнения.")
+        List<@Valid TaskOperationRequest> operations) {
+}
@@ -0,0 +1,35 @@
+package ru.panov.taskmanagementsystem.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Builder;
+import ru.panov.taskmanagementsystem.model.TaskOperationType;
+
+@Builder
+public record TaskOperationRequest(
+        @NotNull(message = "type не может быть null.")
+        @Schema(description = "Тип операции.")
+        TaskOperationType type,
+        @Schema(description = "id задачи, над которой выполняется операция.")
+        Long taskId,
+        @PositiveOrZero(message = "taskRef не может быть меньше 0.")
+        @Schema(description = "Номер предыдущей операции пакета, создавшей задачу (вместо taskId).")
+        Integer taskRef,
+        @Valid
+        @Schema(description = "Данные задачи для операций CREATE_TASK и UPDATE_TASK.")
+        TaskRequest task,
+        @Schema(description = "id статуса для операции UPDATE_STATUS.")
+        Long statusId,
+        @Schema(description = "id исполнителя для операции ADD_PERFORMER.")
+        Long performerId,
+        @Schema(description = "id комментария для операций UPDATE_COMMENT и DELETE_COMMENT.")
+        Long commentId,
+        @Valid
+        @Schema(description = "Данные комментария для операций ADD_COMMENT и UPDATE_COMMENT.")
+        CommentRequest comment,
+        @Schema(description = "Ожидаемая версия задачи или комментария для операций UPDATE_TASK, UPDATE_STATUS " +
+                "и UPDATE_COMMENT (опционально, как заголовок If-Match).")
+        Long version) {
+}
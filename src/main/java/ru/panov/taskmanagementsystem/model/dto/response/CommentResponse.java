@@ -6,5 +6,6 @@ import lombok.Builder;
 public record CommentResponse(Long commentId,
                               String comment,
                               Long taskId,
-                              Long authorId) {
+                              Long authorId,
+                              Long version) {
 }
\ No newline at end of file
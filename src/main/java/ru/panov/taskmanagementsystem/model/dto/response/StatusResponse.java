@@ -1,5 +1,6 @@
 package ru.panov.taskmanagementsystem.model.dto.response;
 
 public record StatusResponse(Long statusId,
-                             String status) {
+                             String status,
+                             Long version) {
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package ru.panov.taskmanagementsystem.model.dto.response;
+
+import java.util.List;
+
+public record TaskBatchResponse(List<TaskOperationResult> results) {
+}
@@ -0,0 +1,7 @@
+package ru.panov.taskmanagementsystem.model.dto.response;
+
+import java.util.List;
+
+public record TaskCursorResponse(List<TaskResponse> tasks,
+                                 String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package ru.panov.taskmanagementsystem.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEvent(TaskEventType type,
+                        Long taskId,
+                        Long commentId) {
+}
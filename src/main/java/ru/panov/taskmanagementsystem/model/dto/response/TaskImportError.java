@@ -0,0 +1,5 @@
+package ru.panov.taskmanagementsystem.model.dto.response;
+
+public record TaskImportError(long line,
+                              String message) {
+}
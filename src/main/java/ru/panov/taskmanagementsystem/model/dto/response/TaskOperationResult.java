@@ -0,0 +1,11 @@
+package ru.panov.taskmanagementsystem.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.panov.taskmanagementsystem.model.TaskOperationType;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskOperationResult(int index,
+                                  TaskOperationType type,
+                                  Long taskId,
+                                  Long commentId) {
+}
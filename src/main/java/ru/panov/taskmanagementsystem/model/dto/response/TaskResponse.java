@@ -14,5 +14,6 @@ public record TaskResponse(Long taskId,
                            String priority,
                            Long userId,
                            List<UserResponse> performers,
-                           List<CommentResponse> comments) {
+                           List<CommentResponse> comments,
+                           Long version) {
 }
\ No newline at end of file
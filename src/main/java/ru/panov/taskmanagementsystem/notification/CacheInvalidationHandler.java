@@ -0,0 +1,56 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Распространяет инвалидацию записей локальных кэшей между экземплярами приложения
+ * через канал PostgreSQL {@value #CHANNEL}.
+ * Уведомление, отправленное внутри транзакции, доставляется только после ее фиксации.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationHandler implements PgNotificationHandler {
+    public static final String CHANNEL = "cache_invalidation";
+    private static final String SEPARATOR = ":";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Сообщает всем экземплярам приложения (включая текущий), что запись кэша устарела.
+     *
+     * @param cacheName имя кэша.
+     * @param key       ключ записи (ID сущности).
+     */
+    public void publish(String cacheName, Long key) {
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, cacheName + SEPARATOR + key);
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        int separator = payload.lastIndexOf(SEPARATOR);
+        Cache cache = cacheManager.getCache(payload.substring(0, separator));
+        if (cache != null) {
+            cache.evict(Long.valueOf(payload.substring(separator + 1)));
+        }
+    }
+
+    @Override
+    public void onReconnect() {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
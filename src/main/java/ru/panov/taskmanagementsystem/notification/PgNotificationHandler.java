@@ -0,0 +1,28 @@
+package ru.panov.taskmanagementsystem.notification;
+
+/**
+ * Обработчик уведомлений PostgreSQL, получаемых через {@link PgNotificationListener}.
+ */
+public interface PgNotificationHandler {
+    /**
+     * Возвращает имя канала, на который подписан обработчик.
+     *
+     * @return имя канала (идентификатор PostgreSQL).
+     */
+    String channel();
+
+    /**
+     * Обрабатывает уведомление, полученное из канала.
+     *
+     * @param payload содержимое уведомления.
+     */
+    void onNotification(String payload);
+
+    /**
+     * Вызывается после восстановления соединения со слушателем.
+     * Уведомления, отправленные пока соединение отсутствовало, потеряны,
+     * поэтому обработчик должен сбросить состояние, которое они могли затронуть.
+     */
+    default void onReconnect() {
+    }
+}
@@ -0,0 +1,111 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Слушатель уведомлений PostgreSQL (LISTEN/NOTIFY).
+ * Подписывается на каналы всех зарегистрированных {@link PgNotificationHandler}
+ * и передает им полученные уведомления. Использует отдельное соединение вне пула,
+ * чтобы не занимать соединения Hikari, и переподключается при его потере.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PgNotificationListener implements SmartLifecycle {
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final List<PgNotificationHandler> handlers;
+    private volatile boolean running;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "pg-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.stream().map(PgNotificationHandler::channel).distinct().toList()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                if (reconnect) {
+                    handlers.forEach(PgNotificationHandler::onReconnect);
+                }
+                reconnect = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Соединение для получения уведомлений PostgreSQL потеряно, повтор через {} мс",
+                            RECONNECT_DELAY_MILLIS, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        for (PgNotificationHandler handler : handlers) {
+            if (handler.channel().equals(notification.getName())) {
+                try {
+                    handler.onNotification(notification.getParameter());
+                } catch (RuntimeException e) {
+                    log.error("Ошибка обработки уведомления из канала {}", notification.getName(), e);
+                }
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskEvent;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Рассылает события изменения задач подписчикам всех экземпляров приложения
+ * через канал PostgreSQL {@value #CHANNEL}.
+ * Событие получают автор и исполнители задачи. Уведомление содержит только само событие, поэтому
+ * его размер не зависит от количества исполнителей (содержимое NOTIFY ограничено 8000 байт);
+ * получатели определяются на каждом экземпляре среди его подписчиков по {@link TaskMembershipIndex}.
+ * Уведомление, отправленное внутри транзакции, доставляется только после ее фиксации, а при откате отбрасывается.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskEventHandler implements PgNotificationHandler {
+    public static final String CHANNEL = "task_events";
+    private static final String NOTIFY_SQL = "select pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskEventSubscriptions taskEventSubscriptions;
+    private final TaskMembershipIndex taskMembershipIndex;
+
+    /**
+     * Публикует событие задачи для ее автора и исполнителей.
+     *
+     * @param type   тип события.
+     * @param taskId ID задачи.
+     */
+    public void publish(TaskEventType type, Long taskId) {
+        publish(type, taskId, null);
+    }
+
+    /**
+     * Публикует событие комментария к задаче для ее автора и исполнителей.
+     * Публикация не загружает исполнителей задачи: при изменении их состава
+     * {@link TaskMembershipIndex#invalidate(Long)} должен вызываться до публикации,
+     * чтобы получатели определялись по новому составу.
+     *
+     * @param type      тип события.
+     * @param taskId    ID задачи.
+     * @param commentId ID комментария.
+     */
+    public void publish(TaskEventType type, Long taskId, Long commentId) {
+        try {
+            jdbcTemplate.queryForList(NOTIFY_SQL, CHANNEL,
+                    objectMapper.writeValueAsString(new TaskEvent(type, taskId, commentId)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        TaskEvent event;
+        try {
+            event = objectMapper.readValue(payload, TaskEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        taskEventSubscriptions.send(event, userId -> taskMembershipIndex.isMember(event.taskId(), userId));
+    }
+
+    @Override
+    public void onReconnect() {
+        taskEventSubscriptions.sendAll(new TaskEvent(TaskEventType.RESYNC, null, null));
+    }
+}
@@ -0,0 +1,168 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Реестр SSE-подписок пользователей на события задач текущего экземпляра приложения.
+ * У каждой подписки свой ограниченный буфер: при переполнении вытесняется самое старое
+ * событие, поэтому медленный клиент не задерживает рассылку остальным и не накапливает память.
+ * Отправка в соединение выполняется в виртуальном потоке подписки, а не в потоке слушателя уведомлений.
+ */
+@Component
+@Slf4j
+public class TaskEventSubscriptions {
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter droppedEvents;
+
+    public TaskEventSubscriptions(@Value("${task-events.buffer-size:64}") int bufferSize,
+                                  @Value("${task-events.timeout:30m}") Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.droppedEvents = Counter.builder("task.events.dropped")
+                .description("События, вытесненные из переполненного буфера подписки")
+                .register(meterRegistry);
+        Gauge.builder("task.events.subscribers", subscribers,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Открывает SSE-подписку пользователя на события его задач.
+     *
+     * @param userId ID пользователя.
+     * @return поток событий.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(subscriber));
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        try {
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Передает событие подпискам пользователей текущего экземпляра, отобранным условием.
+     * Условие проверяется только для пользователей с открытыми подписками,
+     * поэтому стоимость рассылки не зависит от количества участников задачи.
+     *
+     * @param event     событие.
+     * @param recipient условие, которому должен удовлетворять ID пользователя-получателя.
+     */
+    public void send(TaskEvent event, Predicate<Long> recipient) {
+        subscribers.forEach((userId, userSubscribers) -> {
+            if (recipient.test(userId)) {
+                userSubscribers.forEach(subscriber -> subscriber.offer(event));
+            }
+        });
+    }
+
+    /**
+     * Передает событие всем подпискам текущего экземпляра.
+     *
+     * @param event событие.
+     */
+    public void sendAll(TaskEvent event) {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.offer(event)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<TaskEvent> buffer = new ArrayDeque<>();
+        private boolean draining;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(TaskEvent event) {
+            synchronized (this) {
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                TaskEvent event;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name(event.type().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Подписка пользователя с id:{} на события задач закрыта", userId, e);
+                    remove(this);
+                    synchronized (this) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+
+/**
+ * Обработчик исключений реактивного приложения.
+ * Возвращает те же статусы, что и {@code CustomExceptionHandler} основного приложения.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    /**
+     * Обрабатывает исключение InputDataConflictException.
+     *
+     * @param ex исключение InputDataConflictException
+     * @return ответ с деталями ошибки и статусом CONFLICT
+     */
+    @ExceptionHandler(value = {InputDataConflictException.class})
+    protected ResponseEntity<ProblemDetail> inputDataError(InputDataConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage()));
+    }
+
+    /**
+     * Обрабатывает исключение IllegalArgumentException.
+     *
+     * @param ex исключение IllegalArgumentException
+     * @return ответ с деталями ошибки и статусом FORBIDDEN
+     */
+    @ExceptionHandler(value = {IllegalArgumentException.class})
+    protected ResponseEntity<ProblemDetail> illegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, ex.getMessage()));
+    }
+}
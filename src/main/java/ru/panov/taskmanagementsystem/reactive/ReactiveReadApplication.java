@@ -0,0 +1,47 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import ru.panov.taskmanagementsystem.security.JwtService;
+
+/**
+ * Реактивное приложение только для чтения списков задач и комментариев (WebFlux + R2DBC).
+ * Запускается отдельно от основного приложения из того же jar:
+ * {@code java -Dloader.main=ru.panov.taskmanagementsystem.reactive.ReactiveReadApplication
+ * -cp application.jar org.springframework.boot.loader.launch.PropertiesLauncher}
+ * и по умолчанию слушает порт 8081. Работает с той же схемой {@code dbo} через R2DBC
+ * ({@code spring.r2dbc.*}) без JDBC и JPA, проверяет те же JWT, что выпускает основное приложение.
+ * Сканирует только свой пакет; его бины существуют лишь в реактивном контексте,
+ * поэтому основное (servlet) приложение их не создает.
+ */
+@SpringBootApplication(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(JwtService.class)
+public class ReactiveReadApplication {
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("server.port=8081",
+                        "spring.autoconfigure.exclude=" + DataSourceAutoConfiguration.class.getName())
+                .run(args);
+    }
+
+    /**
+     * Сервер Netty для обработки запросов на небольшом числе потоков цикла событий.
+     * Объявлен явно, так как в classpath также есть Tomcat основного приложения.
+     *
+     * @return фабрика реактивного веб-сервера Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.security.JwtService;
+
+/**
+ * Конфигурация безопасности реактивного приложения.
+ * Все запросы, кроме проверки состояния, требуют JWT в заголовке {@code Authorization: Bearer}.
+ * Токен проверяется {@link JwtService} так же, как в основном приложении, без обращения к БД.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+
+    /**
+     * Настраивает цепочку фильтров безопасности для реактивных запросов.
+     *
+     * @param http                  конфигурация безопасности WebFlux
+     * @param authenticationManager менеджер аутентификации по JWT
+     * @return настроенная цепочка фильтров безопасности
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager authenticationManager) {
+        HttpStatusServerEntryPoint entryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(authenticationManager);
+        jwtFilter.setServerAuthenticationConverter(exchange -> Mono
+                .justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                .filter(header -> header.startsWith(BEARER_PREFIX))
+                .map(header -> header.substring(BEARER_PREFIX.length()))
+                .map(token -> UsernamePasswordAuthenticationToken.unauthenticated(token, token)));
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(configurer -> configurer.authenticationEntryPoint(entryPoint))
+                .authorizeExchange(configurer -> configurer
+                        .pathMatchers("/actuator/health").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Создает менеджер аутентификации, восстанавливающий пользователя из требований JWT.
+     *
+     * @return менеджер аутентификации по JWT
+     */
+    @Bean
+    public ReactiveAuthenticationManager jwtAuthenticationManager() {
+        return authentication -> Mono.<Authentication>fromCallable(() -> {
+                    User principal = jwtService.extractPrincipal((String) authentication.getCredentials());
+                    return UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                            principal.getAuthorities());
+                })
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> new BadCredentialsException(e.getMessage(), e));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+
+import java.util.List;
+
+import static ru.panov.taskmanagementsystem.controller.TaskController.NEXT_CURSOR_HEADER;
+import static ru.panov.taskmanagementsystem.util.PathConstants.TASKS_PATH;
+
+/**
+ * Реактивный контроллер для чтения списков задач и комментариев.
+ * Параметры фильтрации и пагинации совпадают с {@code TaskController}.
+ * Ответ отдается потоком: в формате {@code application/json} (массив) или
+ * {@code application/x-ndjson} (одна задача на строку), запись идет по мере готовности
+ * клиента принимать данные.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = TASKS_PATH, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+public class ReactiveTaskController {
+    private final ReactiveTaskRepository taskRepository;
+
+    /**
+     * Получает задачи с фильтрацией и пагинацией по смещению или keyset-пагинацией по курсору.
+     * При keyset-пагинации курсор следующей страницы возвращается в заголовке {@code X-Next-Cursor}.
+     * Если передан параметр {@code search}, выполняется полнотекстовый поиск
+     * с сортировкой результатов по релевантности.
+     *
+     * @param header      заголовок задачи для фильтрации (опционально).
+     * @param description описание задачи для фильтрации (опционально).
+     * @param offset      номер страницы для пагинации (по умолчанию 0).
+     * @param limit       количество записей на страницу (по умолчанию 20).
+     * @param cursor      курсор keyset-пагинации, пустое значение для первой страницы (опционально).
+     * @param search      поисковый запрос для полнотекстового поиска (опционально).
+     * @return поток объектов {@link TaskResponse}.
+     */
+    @Operation(
+            summary = "Получение всех задач (реактивно)",
+            description = "Получение задач с пагинацией по смещению или, при передаче cursor, " +
+                    "с keyset-пагинацией (курсор следующей страницы в заголовке " + NEXT_CURSOR_HEADER + ")"
+    )
+    @GetMapping
+    public Mono<ResponseEntity<Flux<TaskResponse>>> getAll(@RequestParam(value = "header", required = false) String header,
+                                                           @RequestParam(value = "description", required = false) String description,
+                                                           @RequestParam(value = "offset", defaultValue = "0") Integer offset,
+                                                           @RequestParam(value = "limit", defaultValue = "20") Integer limit,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "search", required = false) String search) {
+        checkPage(offset, limit);
+        if (StringUtils.isNotBlank(search)) {
+            return Mono.just(ResponseEntity.ok(page(taskRepository.searchIds(search, header, description,
+                    (long) offset * limit, limit))));
+        }
+        if (cursor != null) {
+            TaskCursor after = cursor.isEmpty() ? null : TaskCursor.decode(cursor);
+            return taskRepository.findKeys(header, description, after, limit + 1)
+                    .collectList()
+                    .map(keys -> {
+                        List<TaskCursor> page = keys.subList(0, Math.min(limit, keys.size()));
+                        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                        if (keys.size() > limit) {
+                            response.header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).encode());
+                        }
+                        return response.body(taskRepository.findAllByIds(
+                                page.stream().map(TaskCursor::id).toList()));
+                    });
+        }
+        return Mono.just(ResponseEntity.ok(page(taskRepository.findIds(header, description,
+                (long) offset * limit, limit))));
+    }
+
+    /**
+     * Получает комментарии к задаче по ее ID с возможностью пагинации.
+     *
+     * @param taskId ID задачи.
+     * @param offset номер страницы для пагинации (по умолчанию 0).
+     * @param limit  количество записей на страницу (по умолчанию 20).
+     * @return поток объектов {@link CommentResponse}.
+     */
+    @Operation(
+            summary = "Получение всех коментариев к задаче (реактивно)",
+            description = "Получение всех коментариев к задаче по ее id"
+    )
+    @GetMapping("/{task_id}/comments")
+    public Flux<CommentResponse> getAllCommentsByTask(@PathVariable("task_id") Long taskId,
+                                                      @RequestParam(value = "offset", defaultValue = "0") Integer offset,
+                                                      @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+        checkPage(offset, limit);
+        return taskRepository.findCommentsByTaskId(taskId, (long) offset * limit, limit);
+    }
+
+    private Flux<TaskResponse> page(Flux<Long> ids) {
+        return ids.collectList().flatMapMany(taskRepository::findAllByIds);
+    }
+
+    private static void checkPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Page index must not be less than zero");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+    }
+}
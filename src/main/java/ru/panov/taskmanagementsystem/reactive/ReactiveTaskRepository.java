@@ -0,0 +1,225 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Реактивное чтение задач и комментариев из схемы {@code dbo} через R2DBC.
+ * Повторяет семантику фильтрации, сортировки и пагинации списков основного приложения:
+ * сначала выбираются ID страницы, затем задачи проецируются в {@link TaskResponse}
+ * вместе с исполнителями и комментариями.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskRepository {
+    private static final String LISTING_ORDER = " order by t.created desc, t.id desc";
+    private static final String SEARCH_IDS_SQL = """
+            select t.id from dbo.tasks t
+            where t.search_vector @@ websearch_to_tsquery('russian', :query)
+              and (cast(:header as text) is null or lower(t.header) like lower('%' || cast(:header as text) || '%'))
+              and (cast(:description as text) is null
+                   or lower(t.description) like lower('%' || cast(:description as text) || '%'))
+            order by ts_rank(t.search_vector, websearch_to_tsquery('russian', :query)) desc, t.id desc
+            limit :limit offset :offset""";
+    private static final String TASKS_SQL = """
+            select t.id, t.header, t.description, s.status, t.priority, t.user_id, t.version
+            from dbo.tasks t
+                     join dbo.statuses s on s.id = t.status_id
+            where t.id in (:ids)""";
+    private static final String PERFORMERS_SQL = """
+            select tp.task_id, u.id, u.first_name, u.last_name, u.email
+            from dbo.tasks_performers tp
+                     join dbo.users u on u.id = tp.performer_id
+            where tp.task_id in (:ids)
+            order by tp.task_id, u.id""";
+    private static final String COMMENTS_SQL = """
+            select c.id, c.comment, c.task_id, c.author_id, c.version
+            from dbo.coments c
+            where c.task_id in (:ids)
+            order by c.task_id, c.id""";
+    private static final String TASK_COMMENTS_SQL = """
+            select c.id, c.comment, c.task_id, c.author_id, c.version
+            from dbo.coments c
+            where c.task_id = :taskId
+            order by c.id
+            limit :limit offset :offset""";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Возвращает ID задач страницы, отсортированных по убыванию (created, id).
+     *
+     * @param header      подстрока заголовка (опционально).
+     * @param description подстрока описания (опционально).
+     * @param offset      число пропускаемых задач.
+     * @param limit       размер страницы.
+     * @return ID задач страницы.
+     */
+    public Flux<Long> findIds(String header, String description, long offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String sql = "select t.id from dbo.tasks t" + where(header, description, null, params)
+                + LISTING_ORDER + " limit :limit offset :offset";
+        params.put("limit", limit);
+        params.put("offset", offset);
+        return databaseClient.sql(sql)
+                .bindValues(params)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    /**
+     * Возвращает ключи keyset-пагинации задач, расположенных после курсора.
+     *
+     * @param header      подстрока заголовка (опционально).
+     * @param description подстрока описания (опционально).
+     * @param after       курсор последней задачи предыдущей страницы или {@code null} для первой страницы.
+     * @param limit       максимальное число ключей.
+     * @return ключи (created, id) задач.
+     */
+    public Flux<TaskCursor> findKeys(String header, String description, TaskCursor after, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String sql = "select t.created, t.id from dbo.tasks t" + where(header, description, after, params)
+                + LISTING_ORDER + " limit :limit";
+        params.put("limit", limit);
+        return databaseClient.sql(sql)
+                .bindValues(params)
+                .map(row -> new TaskCursor(row.get("created", LocalDateTime.class), row.get("id", Long.class)))
+                .all();
+    }
+
+    /**
+     * Выполняет полнотекстовый поиск и возвращает ID задач страницы по убыванию релевантности.
+     *
+     * @param query       поисковый запрос.
+     * @param header      подстрока заголовка (опционально).
+     * @param description подстрока описания (опционально).
+     * @param offset      число пропускаемых задач.
+     * @param limit       размер страницы.
+     * @return ID найденных задач.
+     */
+    public Flux<Long> searchIds(String query, String header, String description, long offset, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SEARCH_IDS_SQL)
+                .bind("query", query)
+                .bind("limit", limit)
+                .bind("offset", offset);
+        spec = header == null ? spec.bindNull("header", String.class) : spec.bind("header", header);
+        spec = description == null ? spec.bindNull("description", String.class) : spec.bind("description", description);
+        return spec.map(row -> row.get("id", Long.class)).all();
+    }
+
+    /**
+     * Проецирует задачи с исполнителями и комментариями в {@link TaskResponse}
+     * в порядке переданных ID.
+     *
+     * @param ids ID задач.
+     * @return задачи в порядке ID, отсутствующие задачи пропускаются.
+     */
+    public Flux<TaskResponse> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Mono<Map<Long, Collection<UserResponse>>> performers = databaseClient.sql(PERFORMERS_SQL)
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("task_id", Long.class), new UserResponse(
+                        row.get("id", Long.class),
+                        row.get("first_name", String.class),
+                        row.get("last_name", String.class),
+                        row.get("email", String.class))))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<Long, Collection<CommentResponse>>> comments = databaseClient.sql(COMMENTS_SQL)
+                .bind("ids", ids)
+                .map(ReactiveTaskRepository::comment)
+                .all()
+                .collectMultimap(CommentResponse::taskId);
+
+        return Mono.zip(performers, comments)
+                .flatMap(children -> databaseClient.sql(TASKS_SQL)
+                        .bind("ids", ids)
+                        .map(row -> {
+                            Long taskId = row.get("id", Long.class);
+                            return new TaskResponse(
+                                    taskId,
+                                    row.get("header", String.class),
+                                    row.get("description", String.class),
+                                    row.get("status", String.class),
+                                    row.get("priority", String.class),
+                                    row.get("user_id", Long.class),
+                                    toList(children.getT1().get(taskId)),
+                                    toList(children.getT2().get(taskId)),
+                                    row.get("version", Long.class));
+                        })
+                        .all()
+                        .collectMap(TaskResponse::taskId))
+                .flatMapIterable(tasks -> ids.stream()
+                        .map(tasks::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    /**
+     * Возвращает страницу комментариев к задаче, отсортированных по ID.
+     *
+     * @param taskId ID задачи.
+     * @param offset число пропускаемых комментариев.
+     * @param limit  размер страницы.
+     * @return комментарии к задаче.
+     */
+    public Flux<CommentResponse> findCommentsByTaskId(Long taskId, long offset, int limit) {
+        return databaseClient.sql(TASK_COMMENTS_SQL)
+                .bind("taskId", taskId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveTaskRepository::comment)
+                .all();
+    }
+
+    private static String where(String header, String description, TaskCursor after, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (header != null) {
+            conditions.add("lower(t.header) like :header");
+            params.put("header", ("%" + header + "%").toLowerCase());
+        }
+        if (description != null) {
+            conditions.add("lower(t.description) like :description");
+            params.put("description", ("%" + description + "%").toLowerCase());
+        }
+        if (after != null) {
+            conditions.add("(t.created < :created or (t.created = :created and t.id < :id))");
+            params.put("created", after.created());
+            params.put("id", after.id());
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private static CommentResponse comment(Readable row) {
+        return new CommentResponse(
+                row.get("id", Long.class),
+                row.get("comment", String.class),
+                row.get("task_id", Long.class),
+                row.get("author_id", Long.class),
+                row.get("version", Long.class));
+    }
+
+    private static <T> List<T> toList(Collection<T> values) {
+        return values == null ? List.of() : List.copyOf(values);
+    }
+}
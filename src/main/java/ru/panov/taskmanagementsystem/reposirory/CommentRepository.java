@@ -3,8 +3,17 @@ package ru.panov.taskmanagementsystem.reposirory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.panov.taskmanagementsystem.model.Comment;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByTask_Id(Long taskId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("""
+            select new ru.panov.taskmanagementsystem.util.ResourceVersion(
+                count(c), max(c.updated), sum(cast(function('date_part', 'epoch', c.updated) as Double)))
+            from Comment c
+            where c.task.id = :taskId""")
+    ResourceVersion findVersionByTaskId(Long taskId);
+}
@@ -0,0 +1,58 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Пакетные операции записи задач через JDBC в обход контекста персистентности.
+ */
+public interface TaskBatchRepository {
+    /**
+     * Сохраняет задачи, заголовки которых еще не заняты: данные передаются командой {@code COPY}
+     * во временную таблицу и переносятся в {@code dbo.tasks} одним {@code INSERT ... ON CONFLICT DO NOTHING}.
+     * Задачи с занятыми заголовками, в том числе занятыми параллельной записью, пропускаются.
+     * Должен вызываться в транзакции: временная таблица очищается при каждой фиксации,
+     * и без транзакции строки удалились бы сразу после {@code COPY}.
+     *
+     * @param taskRequests провалидированные данные задач с различными заголовками.
+     * @param userId       ID пользователя, создающего задачи.
+     * @return заголовки сохраненных задач.
+     */
+    Set<String> insertAbsent(List<TaskRequest> taskRequests, Long userId);
+
+    /**
+     * Назначает задаче исполнителей одним запросом {@code INSERT ... ON CONFLICT DO NOTHING}.
+     * Уже назначенные исполнители пропускаются. Исполнители назначаются, только если задача
+     * принадлежит пользователю.
+     *
+     * @param taskId       ID задачи.
+     * @param userId       ID автора задачи.
+     * @param performerIds ID назначаемых исполнителей.
+     * @return результат изменения состава исполнителей.
+     */
+    PerformersChange assignPerformers(Long taskId, Long userId, Collection<Long> performerIds);
+
+    /**
+     * Снимает исполнителей с задачи одним запросом {@code DELETE ... WHERE performer_id = ANY(?)}.
+     * Исполнители снимаются, только если задача принадлежит пользователю.
+     *
+     * @param taskId       ID задачи.
+     * @param userId       ID автора задачи.
+     * @param performerIds ID снимаемых исполнителей.
+     * @return результат изменения состава исполнителей.
+     */
+    PerformersChange unassignPerformers(Long taskId, Long userId, Collection<Long> performerIds);
+
+    /**
+     * Результат изменения состава исполнителей задачи.
+     *
+     * @param owned   найдена ли задача у пользователя.
+     * @param found   количество существующих пользователей среди переданных ID.
+     * @param changed количество добавленных или удаленных связей.
+     */
+    record PerformersChange(boolean owned, int found, int changed) {
+    }
+}
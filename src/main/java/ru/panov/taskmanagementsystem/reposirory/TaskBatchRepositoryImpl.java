@@ -0,0 +1,121 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.panov.taskmanagementsystem.model.Priority;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskBatchRepositoryImpl implements TaskBatchRepository {
+    private static final String CREATE_STAGING_SQL = """
+            create temp table if not exists import_tasks (
+                status_id bigint, header varchar, description text, priority varchar
+            ) on commit delete rows""";
+    private static final String COPY_STAGING_SQL = """
+            copy pg_temp.import_tasks (status_id, header, description, priority) from stdin""";
+    private static final String INSERT_STAGED_SQL = """
+            with staged as (delete from pg_temp.import_tasks returning *)
+            insert into dbo.tasks (status_id, user_id, header, description, priority, created, updated)
+            select s.status_id, ?, s.header, s.description, s.priority, ?, ?
+            from staged s
+            on conflict (header) do nothing
+            returning header""";
+
+    private static final String ASSIGN_PERFORMERS_SQL = """
+            with owned as (select t.id from dbo.tasks t where t.id = ? and t.user_id = ?),
+                 found as (select u.id from dbo.users u where u.id = any(?)),
+                 inserted as (
+                     insert into dbo.tasks_performers (task_id, performer_id)
+                     select o.id, f.id from owned o, found f
+                     on conflict on constraint uk_task_performer do nothing
+                     returning performer_id)
+            select (select count(*) from owned), (select count(*) from found), (select count(*) from inserted)""";
+    private static final String UNASSIGN_PERFORMERS_SQL = """
+            with owned as (select t.id from dbo.tasks t where t.id = ? and t.user_id = ?),
+                 deleted as (
+                     delete from dbo.tasks_performers tp
+                     using owned o
+                     where tp.task_id = o.id and tp.performer_id = any(?)
+                     returning tp.performer_id)
+            select (select count(*) from owned), 0, (select count(*) from deleted)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> insertAbsent(List<TaskRequest> taskRequests, Long userId) {
+        if (taskRequests.isEmpty()) {
+            return Set.of();
+        }
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        String rows = copyRows(taskRequests);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_SQL, new StringReader(rows));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT_STAGED_SQL, String.class, userId, now, now));
+    }
+
+    @Override
+    public PerformersChange assignPerformers(Long taskId, Long userId, Collection<Long> performerIds) {
+        return changePerformers(ASSIGN_PERFORMERS_SQL, taskId, userId, performerIds);
+    }
+
+    @Override
+    public PerformersChange unassignPerformers(Long taskId, Long userId, Collection<Long> performerIds) {
+        return changePerformers(UNASSIGN_PERFORMERS_SQL, taskId, userId, performerIds);
+    }
+
+    /**
+     * Формирует строки для {@code COPY} в текстовом формате: поля разделены табуляцией,
+     * обратная косая черта и управляющие символы экранируются.
+     */
+    private static String copyRows(List<TaskRequest> taskRequests) {
+        StringBuilder rows = new StringBuilder(taskRequests.size() * 128);
+        for (TaskRequest taskRequest : taskRequests) {
+            rows.append(taskRequest.statusId()).append('\t');
+            appendCopyValue(rows, taskRequest.header());
+            rows.append('\t');
+            appendCopyValue(rows, taskRequest.description());
+            rows.append('\t').append(Priority.values()[taskRequest.priority() - 1].name()).append('\n');
+        }
+        return rows.toString();
+    }
+
+    private static void appendCopyValue(StringBuilder rows, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+    }
+
+    private PerformersChange changePerformers(String sql, Long taskId, Long userId, Collection<Long> performerIds) {
+        return jdbcTemplate.queryForObject(sql,
+                (rs, rowNum) -> new PerformersChange(rs.getInt(1) > 0, rs.getInt(2), rs.getInt(3)),
+                taskId, userId, performerIds.toArray(Long[]::new));
+    }
+}
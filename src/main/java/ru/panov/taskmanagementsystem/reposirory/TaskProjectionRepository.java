@@ -0,0 +1,44 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+
+import java.util.List;
+
+/**
+ * Запросы на чтение задач, результаты которых сразу проецируются в DTO
+ * без создания сущностей и контекста персистентности.
+ */
+public interface TaskProjectionRepository {
+    /**
+     * Возвращает представления задач вместе с исполнителями и комментариями.
+     *
+     * @param ids список ID задач.
+     * @return список задач в порядке переданных ID; отсутствующие ID пропускаются.
+     */
+    default List<TaskResponse> findAllByIds(List<Long> ids) {
+        return findAllByIds(ids, TaskFields.ALL);
+    }
+
+    /**
+     * Возвращает представления задач, содержащие только запрошенные поля.
+     * Столбцы и коллекции, не вошедшие в набор, не запрашиваются из БД.
+     *
+     * @param ids    список ID задач.
+     * @param fields набор запрошенных полей.
+     * @return список задач в порядке переданных ID; отсутствующие ID пропускаются.
+     */
+    List<TaskResponse> findAllByIds(List<Long> ids, TaskFields fields);
+
+    /**
+     * Возвращает версию представлений задач с переданными ID одним агрегатным запросом.
+     * Кроме дат изменения задач учитываются даты изменения их статусов и исполнителей,
+     * названия и имена которых входят в представление. Изменения комментариев и состава исполнителей
+     * отражаются в дате изменения задачи.
+     *
+     * @param ids список ID задач.
+     * @return версия представлений задач (пустая версия, если список пуст).
+     */
+    ResourceVersion findVersionByIds(List<Long> ids);
+}
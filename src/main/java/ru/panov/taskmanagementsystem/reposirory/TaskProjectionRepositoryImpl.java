@@ -0,0 +1,145 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+    private static final String TASKS_SQL = """
+            select t.id%s
+            from dbo.tasks t%s
+            where t.id in (:ids)""";
+    private static final String STATUS_JOIN = " join dbo.statuses s on s.id = t.status_id";
+    private static final String PERFORMERS_SQL = """
+            select tp.task_id, u.id, u.first_name, u.last_name, u.email
+            from dbo.tasks_performers tp
+                     join dbo.users u on u.id = tp.performer_id
+            where tp.task_id in (:ids)
+            order by tp.task_id, u.id""";
+    private static final String COMMENTS_SQL = """
+            select c.id, c.comment, c.task_id, c.author_id, c.version
+            from dbo.coments c
+            where c.task_id in (:ids)
+            order by c.task_id, c.id""";
+    private static final String VERSION_SQL = """
+            select count(*) as count, max(v.updated) as last_modified,
+                   sum(date_part('epoch', v.updated)) as checksum
+            from (select t.updated
+                  from dbo.tasks t
+                  where t.id in (:ids)
+                  union all
+                  select s.updated
+                  from dbo.tasks t
+                           join dbo.statuses s on s.id = t.status_id
+                  where t.id in (:ids)
+                  union all
+                  select u.updated
+                  from dbo.tasks_performers tp
+                           join dbo.users u on u.id = tp.performer_id
+                  where tp.task_id in (:ids)) v""";
+
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put(TaskFields.HEADER, "t.header");
+        COLUMNS.put(TaskFields.DESCRIPTION, "t.description");
+        COLUMNS.put(TaskFields.STATUS, "s.status");
+        COLUMNS.put(TaskFields.PRIORITY, "t.priority");
+        COLUMNS.put(TaskFields.USER_ID, "t.user_id");
+        COLUMNS.put(TaskFields.VERSION, "t.version");
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<TaskResponse> findAllByIds(List<Long> ids, TaskFields fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Long>> params = Map.of("ids", ids);
+
+        Map<Long, List<UserResponse>> performers = new HashMap<>();
+        if (fields.performers()) {
+            jdbcTemplate.query(PERFORMERS_SQL, params, rs -> {
+                performers.computeIfAbsent(rs.getLong("task_id"), id -> new ArrayList<>())
+                        .add(new UserResponse(
+                                rs.getLong("id"),
+                                rs.getString("first_name"),
+                                rs.getString("last_name"),
+                                rs.getString("email")));
+            });
+        }
+
+        Map<Long, List<CommentResponse>> comments = new HashMap<>();
+        if (fields.comments()) {
+            jdbcTemplate.query(COMMENTS_SQL, params, rs -> {
+                long taskId = rs.getLong("task_id");
+                comments.computeIfAbsent(taskId, id -> new ArrayList<>())
+                        .add(new CommentResponse(
+                                rs.getLong("id"),
+                                rs.getString("comment"),
+                                taskId,
+                                rs.getObject("author_id", Long.class),
+                                rs.getLong("version")));
+            });
+        }
+
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        jdbcTemplate.query(tasksSql(fields), params, rs -> {
+            long taskId = rs.getLong("id");
+            tasks.put(taskId, new TaskResponse(
+                    taskId,
+                    fields.has(TaskFields.HEADER) ? rs.getString("header") : null,
+                    fields.has(TaskFields.DESCRIPTION) ? rs.getString("description") : null,
+                    fields.has(TaskFields.STATUS) ? rs.getString("status") : null,
+                    fields.has(TaskFields.PRIORITY) ? rs.getString("priority") : null,
+                    fields.has(TaskFields.USER_ID) ? rs.getLong("user_id") : null,
+                    fields.performers() ? performers.getOrDefault(taskId, List.of()) : null,
+                    fields.comments() ? comments.getOrDefault(taskId, List.of()) : null,
+                    fields.has(TaskFields.VERSION) ? rs.getLong("version") : null));
+        });
+
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public ResourceVersion findVersionByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResourceVersion(0L, null, null);
+        }
+        return jdbcTemplate.queryForObject(VERSION_SQL, Map.of("ids", ids), (rs, rowNum) -> {
+            Timestamp lastModified = rs.getTimestamp("last_modified");
+            return new ResourceVersion(rs.getLong("count"),
+                    lastModified == null ? null : lastModified.toLocalDateTime(),
+                    rs.getObject("checksum", Double.class));
+        });
+    }
+
+    private static String tasksSql(TaskFields fields) {
+        StringBuilder columns = new StringBuilder();
+        COLUMNS.forEach((field, column) -> {
+            if (fields.has(field)) {
+                columns.append(", ").append(column);
+            }
+        });
+        return TASKS_SQL.formatted(columns, fields.has(TaskFields.STATUS) ? STATUS_JOIN : "");
+    }
+}
@@ -1,27 +1,51 @@
 package ru.panov.taskmanagementsystem.reposirory;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.panov.taskmanagementsystem.model.Task;
 import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     Optional<Task> findByIdAndUser_Id(Long taskId, Long userId);
 
-    Optional<Task> findByHeader(String header);
+    @EntityGraph(Task.AUTHORIZATION_GRAPH)
+    Optional<Task> findWithPerformersById(Long taskId);
 
-    @Query("select t from Task t left join fetch t.comments c order by t.created desc")
-    Page<Task> findAll(Specification<Task> specification, Pageable pageable);
+    boolean existsByHeader(String header);
+
+    boolean existsByIdAndUser_Id(Long taskId, Long userId);
+
+    boolean existsByIdAndPerformers_Id(Long taskId, Long performerId);
+
+    @Query(value = """
+            select t.id from dbo.tasks t
+            where t.search_vector @@ websearch_to_tsquery('russian', :query)
+              and (cast(:header as text) is null or lower(t.header) like lower('%' || cast(:header as text) || '%'))
+              and (cast(:description as text) is null
+                   or lower(t.description) like lower('%' || cast(:description as text) || '%'))
+            order by ts_rank(t.search_vector, websearch_to_tsquery('russian', :query)) desc, t.id desc
+            limit :limit offset :offset""", nativeQuery = true)
+    List<Long> searchIds(String query, String header, String description, long offset, int limit);
+
+    @Query("select t.version from Task t where t.id = :taskId")
+    Optional<Long> findVersionById(Long taskId);
 
     @Query("select t.performers from Task t where t.id = :taskId")
     List<User> findAllPerformersByTaskId(Long taskId);
-}
\ No newline at end of file
+
+    @Query("""
+            select new ru.panov.taskmanagementsystem.util.ResourceVersion(
+                count(p), t.updated, sum(cast(function('date_part', 'epoch', p.updated) as Double)))
+            from Task t left join t.performers p
+            where t.id = :taskId
+            group by t.id, t.updated""")
+    Optional<ResourceVersion> findPerformersVersion(Long taskId);
+}
@@ -0,0 +1,87 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Дополнительные запросы к задачам, которые не выражаются через методы Spring Data.
+ */
+public interface TaskRepositoryCustom {
+    /**
+     * Возвращает ID задач одной страницы. Пагинация выполняется в SQL (LIMIT/OFFSET)
+     * по таблице задач без соединения с коллекциями, поэтому размер выборки
+     * не зависит от количества комментариев и исполнителей.
+     *
+     * @param specification спецификация для фильтрации задач.
+     * @param sort          порядок сортировки.
+     * @param offset        количество пропускаемых записей.
+     * @param limit         максимальное количество возвращаемых ID.
+     * @return список ID задач в порядке сортировки.
+     */
+    List<Long> findIds(Specification<Task> specification, Sort sort, long offset, int limit);
+
+    /**
+     * Возвращает ключи keyset-пагинации (дату создания и ID) задач одной страницы.
+     *
+     * @param specification спецификация для фильтрации задач.
+     * @param sort          порядок сортировки.
+     * @param limit         максимальное количество возвращаемых ключей.
+     * @return список ключей задач в порядке сортировки.
+     */
+    List<TaskCursor> findKeys(Specification<Task> specification, Sort sort, int limit);
+
+    /**
+     * Возвращает поток задач, удовлетворяющих спецификации, в порядке возрастания ID.
+     * Строки читаются курсором порциями по {@code fetchSize} и проецируются в {@link TaskResponse}
+     * без исполнителей и комментариев, поэтому память не зависит от размера выборки.
+     * Поток должен быть закрыт и прочитан внутри транзакции.
+     *
+     * @param specification спецификация для фильтрации задач.
+     * @param fetchSize     количество строк, получаемых из БД за одно обращение.
+     * @return поток задач.
+     */
+    Stream<TaskResponse> streamAll(Specification<Task> specification, int fetchSize);
+
+    /**
+     * Создает задачу одним запросом {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}.
+     * Задача не создается, если заголовок занят, а статус или автор не существуют.
+     *
+     * @param taskRequest данные задачи.
+     * @param userId      ID автора задачи.
+     * @return представление созданной задачи или пустой {@link Optional}, если строка не вставлена.
+     */
+    Optional<TaskResponse> insertIfAbsent(TaskRequest taskRequest, Long userId);
+
+    /**
+     * Обновляет задачу автора одним условным запросом и увеличивает ее версию. Строка не изменяется,
+     * если задача не найдена у автора, ее версия отличается от ожидаемой, статус не существует
+     * или заголовок занят другой задачей.
+     *
+     * @param taskId      ID задачи.
+     * @param userId      ID автора задачи.
+     * @param taskRequest новые данные задачи.
+     * @param version     ожидаемая версия задачи или {@code null}, если версия не проверяется.
+     * @return новая версия задачи или пустой {@link Optional}, если строка не изменена.
+     */
+    Optional<Long> updateIfOwner(Long taskId, Long userId, TaskRequest taskRequest, Long version);
+
+    /**
+     * Меняет статус задачи одним условным запросом и увеличивает ее версию, если пользователь является
+     * ее исполнителем, версия совпадает с ожидаемой и статус существует.
+     *
+     * @param taskId   ID задачи.
+     * @param userId   ID исполнителя.
+     * @param statusId ID нового статуса.
+     * @param version  ожидаемая версия задачи или {@code null}, если версия не проверяется.
+     * @return новая версия задачи или пустой {@link Optional}, если строка не изменена.
+     */
+    Optional<Long> updateStatusIfPerformer(Long taskId, Long userId, Long statusId, Long version);
+}
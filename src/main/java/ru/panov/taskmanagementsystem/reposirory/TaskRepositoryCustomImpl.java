@@ -0,0 +1,183 @@
+package ru.panov.taskmanagementsystem.reposirory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.panov.taskmanagementsystem.model.Priority;
+import ru.panov.taskmanagementsystem.model.Status;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final String INSERT_SQL = """
+            with inserted as (
+                insert into dbo.tasks (status_id, user_id, header, description, priority, created, updated)
+                select s.id, u.id, :header, :description, :priority, :now, :now
+                from dbo.statuses s, dbo.users u
+                where s.id = :statusId and u.id = :userId
+                on conflict (header) do nothing
+                returning id, status_id)
+            select i.id, s.status
+            from inserted i
+                     join dbo.statuses s on s.id = i.status_id""";
+    private static final String UPDATE_SQL = """
+            update dbo.tasks t
+            set header = :header, description = :description, status_id = s.id, priority = :priority, updated = :now,
+                version = t.version + 1
+            from dbo.statuses s
+            where s.id = :statusId
+              and t.id = :taskId
+              and t.user_id = :userId
+              and (cast(:version as bigint) is null or t.version = cast(:version as bigint))
+              and not exists (select 1 from dbo.tasks o where o.header = :header and o.id <> t.id)
+            returning t.version""";
+    private static final String UPDATE_STATUS_SQL = """
+            update dbo.tasks t
+            set status_id = s.id, updated = :now, version = t.version + 1
+            from dbo.statuses s
+            where s.id = :statusId
+              and t.id = :taskId
+              and (cast(:version as bigint) is null or t.version = cast(:version as bigint))
+              and exists (select 1 from dbo.tasks_performers tp where tp.task_id = t.id and tp.performer_id = :userId)
+            returning t.version""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Task> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("id"))
+                .orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskCursor> findKeys(Specification<Task> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskCursor> query = criteriaBuilder.createQuery(TaskCursor.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.construct(TaskCursor.class,
+                        root.<LocalDateTime>get("created"), root.<Long>get("id")))
+                .orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskResponse> streamAll(Specification<Task> specification, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Join<Task, Status> status = root.join("status");
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(root.get("id"), root.get("header"), root.get("description"),
+                        status.get("status"), root.get("priority"), root.get("user").get("id"))
+                .orderBy(criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> TaskResponse.builder()
+                        .taskId(tuple.get(0, Long.class))
+                        .header(tuple.get(1, String.class))
+                        .description(tuple.get(2, String.class))
+                        .status(tuple.get(3, String.class))
+                        .priority(tuple.get(4, Priority.class).name())
+                        .userId(tuple.get(5, Long.class))
+                        .build());
+    }
+
+    @Override
+    public Optional<TaskResponse> insertIfAbsent(TaskRequest taskRequest, Long userId) {
+        String priority = Priority.values()[taskRequest.priority() - 1].name();
+        NativeQuery<?> query = entityManager.createNativeQuery(INSERT_SQL).unwrap(NativeQuery.class);
+        List<?> rows = query.addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .setParameter("header", taskRequest.header())
+                .setParameter("description", taskRequest.description())
+                .setParameter("priority", priority)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("statusId", taskRequest.statusId())
+                .setParameter("userId", userId)
+                .getResultList();
+        return rows.stream()
+                .map(Object[].class::cast)
+                .findFirst()
+                .map(row -> new TaskResponse((Long) row[0], taskRequest.header(), taskRequest.description(),
+                        (String) row[1], priority, userId, List.of(), List.of(), 0L));
+    }
+
+    @Override
+    public Optional<Long> updateIfOwner(Long taskId, Long userId, TaskRequest taskRequest, Long version) {
+        return updateReturningVersion(taskId, entityManager.createNativeQuery(UPDATE_SQL)
+                .setParameter("header", taskRequest.header())
+                .setParameter("description", taskRequest.description())
+                .setParameter("priority", Priority.values()[taskRequest.priority() - 1].name())
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("statusId", taskRequest.statusId())
+                .setParameter("taskId", taskId)
+                .setParameter("userId", userId), version);
+    }
+
+    @Override
+    public Optional<Long> updateStatusIfPerformer(Long taskId, Long userId, Long statusId, Long version) {
+        return updateReturningVersion(taskId, entityManager.createNativeQuery(UPDATE_STATUS_SQL)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("statusId", statusId)
+                .setParameter("taskId", taskId)
+                .setParameter("userId", userId), version);
+    }
+
+    /**
+     * Выполняет нативный UPDATE задачи и отсоединяет задачу от контекста персистентности: UPDATE увеличивает
+     * версию в БД в обход контекста, и загруженная ранее в той же транзакции сущность с прежней версией
+     * вызвала бы ложный конфликт при последующем удалении или сохранении (например, в пакете операций).
+     */
+    private Optional<Long> updateReturningVersion(Long taskId, Query query, Long version) {
+        NativeQuery<?> nativeQuery = query.unwrap(NativeQuery.class);
+        List<?> rows = nativeQuery.addScalar("version", StandardBasicTypes.LONG)
+                .setParameter("version", version, StandardBasicTypes.LONG)
+                .getResultList();
+        entityManager.detach(entityManager.getReference(Task.class, taskId));
+        return rows.stream()
+                .map(Long.class::cast)
+                .findFirst();
+    }
+}
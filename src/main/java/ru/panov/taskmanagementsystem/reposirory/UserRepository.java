@@ -1,6 +1,8 @@
 package ru.panov.taskmanagementsystem.reposirory;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.panov.taskmanagementsystem.model.User;
@@ -11,4 +13,11 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     @Query("select  u from User u left join fetch u.roles where u.email = :email")
     Optional<User> findByEmail(String email);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long userId);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    void updatePassword(String email, String password);
 }
\ No newline at end of file
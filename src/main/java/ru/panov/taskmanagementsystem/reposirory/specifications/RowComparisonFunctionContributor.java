@@ -0,0 +1,22 @@
+package ru.panov.taskmanagementsystem.reposirory.specifications;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует в Hibernate функцию {@value #ROW_LESS_THAN} для сравнения пар значений как строк:
+ * {@code (a, b) < (c, d)}. В отличие от развернутого условия {@code a < c or (a = c and b < d)}
+ * такое сравнение PostgreSQL использует как границу сканирования индекса по {@code (a, b)}.
+ * Подключается через {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class RowComparisonFunctionContributor implements FunctionContributor {
+    public static final String ROW_LESS_THAN = "row_less_than";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(ROW_LESS_THAN, "((?1, ?2) < (?3, ?4))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -1,13 +1,16 @@
 package ru.panov.taskmanagementsystem.reposirory.specifications;
 
-
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
 
 /**
  * Спецификации для фильтрации задач по различным критериям.
  * Содержит методы для создания спецификаций, которые можно использовать для поиска задач
  * по частичным совпадениям в заголовке и описании.
+ * Предикаты по {@code lower(header)} и {@code lower(description)} обслуживаются
+ * триграммными GIN-индексами, поэтому поиск подстроки не требует полного сканирования таблицы.
  */
 public class TaskSpecification {
     /**
@@ -31,4 +34,22 @@ public class TaskSpecification {
         return (root, query, criteriaBuilder) -> criteriaBuilder
                 .like(criteriaBuilder.lower(root.get("description")), ("%" + description + "%").toLowerCase());
     }
-}
\ No newline at end of file
+
+    /**
+     * Создает спецификацию для keyset-пагинации: задачи, которые при сортировке
+     * по убыванию (created, id) идут после задачи, на которую указывает курсор.
+     * Условие записывается сравнением строк {@code (created, id) < (:created, :id)}, поэтому сканирование
+     * индекса {@code idx_tasks_created_id} начинается сразу с курсора и глубокие страницы стоят столько же,
+     * сколько первая.
+     *
+     * @param cursor Курсор последней задачи предыдущей страницы.
+     * @return Спецификация, которая отбирает задачи, расположенные после курсора.
+     */
+    public static Specification<Task> createdBefore(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) criteriaBuilder;
+            return builder.isTrue(builder.function(RowComparisonFunctionContributor.ROW_LESS_THAN, Boolean.class,
+                    root.get("created"), root.get("id"), builder.value(cursor.created()), builder.value(cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package ru.panov.taskmanagementsystem.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Кодировщик паролей BCrypt с подбираемой сложностью.
+ * Сложность (work factor) либо задается явно, либо подбирается при старте так,
+ * чтобы одно хеширование на текущем оборудовании занимало время, ближайшее к заданному.
+ * Хеши с другой сложностью, в том числе более высокой, считаются требующими
+ * перекодирования: при успешном входе пароль сохраняется заново с текущей сложностью.
+ */
+@Slf4j
+@Getter
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 16;
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$.{53}");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_RUNS = 2;
+
+    private final int strength;
+    private final Duration hashDuration;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+        this.hashDuration = measure(strength);
+        log.info("Сложность BCrypt: {}, хеширование пароля занимает {} мс (~{} входов в секунду на ядро)",
+                strength, hashDuration.toMillis(), 1000 / Math.max(1, hashDuration.toMillis()));
+    }
+
+    /**
+     * Создает кодировщик, сложность которого подобрана под заданное время хеширования.
+     * Каждая следующая сложность удваивает время, поэтому выбирается ближайшая
+     * к целевому времени в логарифмической шкале.
+     *
+     * @param targetDuration целевое время хеширования одного пароля.
+     * @return кодировщик с подобранной сложностью.
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration targetDuration) {
+        return new AdaptiveBCryptPasswordEncoder(calibrate(targetDuration));
+    }
+
+    static int calibrate(Duration targetDuration) {
+        double target = targetDuration.toNanos();
+        int strength = MIN_STRENGTH;
+        double previous = measure(strength).toNanos();
+        while (previous < target && strength < MAX_STRENGTH) {
+            double current = measure(strength + 1).toNanos();
+            strength++;
+            if (current >= target) {
+                return target / previous < current / target ? strength - 1 : strength;
+            }
+            previous = current;
+        }
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -21,6 +22,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ru.panov.taskmanagementsystem.model.User;
 
 import java.io.IOException;
 
@@ -28,6 +30,9 @@ import java.io.IOException;
  * Фильтр для аутентификации на основе JWT (JSON Web Token).
  * Этот фильтр извлекает JWT из заголовка запроса, проверяет его валидность
  * и настраивает контекст безопасности Spring Security в случае успешной проверки.
+ * По умолчанию ({@code jwt.stateless-principal=true}) принципал восстанавливается из проверенных
+ * требований токена без обращения к БД; при значении {@code false} пользователь загружается
+ * через {@link UserDetailsService} на каждый запрос.
  */
 @Component
 @RequiredArgsConstructor
@@ -37,6 +42,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final String HEADER_STRING = "Authorization";
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtRevocationChecker jwtRevocationChecker;
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -48,11 +56,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         String jwt = authHeader.substring(TOKEN_PREFIX.length());
-        String email = null;
+        User principal = null;
         String msg = "";
 
         try {
-            email = jwtService.extractEmail(jwt);
+            principal = jwtService.extractPrincipal(jwt);
         } catch (SignatureException ex) {
             msg = "Invalid JWT signature";
         } catch (MalformedJwtException ex) {
@@ -79,9 +87,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (StringUtils.isNotEmpty(email) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = statelessPrincipal
+                    ? principal
+                    : userDetailsService.loadUserByUsername(principal.getEmail());
+            if (!jwtRevocationChecker.isRevoked(principal)) {
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,51 @@
+package ru.panov.taskmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.panov.taskmanagementsystem.model.Role;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.reposirory.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Проверка отзыва JWT для принципала, восстановленного из требований токена.
+ * Токен считается отозванным, если пользователь удален или его роли изменились.
+ * Состояние пользователя хранится в памяти в течение {@code jwt.revocation-check-ttl},
+ * поэтому БД запрашивается не чаще одного раза за этот период для каждого пользователя.
+ * Нулевое значение отключает проверку.
+ */
+@Component
+public class JwtRevocationChecker {
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final LoadingCache<Long, Optional<Set<Role>>> rolesByUserId;
+
+    public JwtRevocationChecker(UserRepository userRepository,
+                                @Value("${jwt.revocation-check-ttl:0s}") Duration ttl) {
+        this.rolesByUserId = ttl.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(ttl)
+                .build(userId -> userRepository.findWithRolesById(userId)
+                        .map(user -> Set.copyOf(user.getRoles())));
+    }
+
+    /**
+     * Проверяет, отозван ли токен пользователя.
+     *
+     * @param principal пользователь, восстановленный из требований токена.
+     * @return {@code true}, если пользователь удален или его роли отличаются от указанных в токене.
+     */
+    public boolean isRevoked(User principal) {
+        if (rolesByUserId == null) {
+            return false;
+        }
+        return rolesByUserId.get(principal.getId())
+                .map(roles -> !roles.equals(principal.getRoles()))
+                .orElse(true);
+    }
+}
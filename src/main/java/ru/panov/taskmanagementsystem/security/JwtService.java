@@ -1,39 +1,81 @@
 package ru.panov.taskmanagementsystem.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import ru.panov.taskmanagementsystem.model.Role;
 import ru.panov.taskmanagementsystem.model.User;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Сервис для работы с JSON Web Token (JWT).
  * Этот класс предоставляет методы для создания, проверки и извлечения информации из JWT.
+ * Ключ подписи и парсер создаются один раз при старте. Проверенные токены хранятся в памяти
+ * до истечения их срока действия ({@code jwt.verified-token-cache-size} записей, ключ — SHA-256 токена),
+ * поэтому повторные запросы с тем же токеном не разбирают его и не проверяют подпись заново.
+ * Нулевой размер отключает кэш.
  */
 @Component
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secret;
-    @Value("${jwt.expiration}")
-    private String expiration;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final long expiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expiration,
+                      @Value("${jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.expiration = expiration;
+        this.verifiedTokens = verifiedTokenCacheSize == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+    }
 
     /**
-     * Извлекает email из JWT.
+     * Проверяет подпись и срок действия JWT и восстанавливает по его требованиям
+     * пользователя-принципала (ID, email и роли) без обращения к БД.
+     * Возвращаемый объект не является сохраненной сущностью и не содержит пароля.
      *
      * @param token JWT токен.
-     * @return email, содержащийся в токене.
+     * @return пользователь, для которого выпущен токен.
+     * @throws IllegalArgumentException если токен не содержит ID пользователя.
      */
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public User extractPrincipal(String token) {
+        if (verifiedTokens == null) {
+            return verify(token).toPrincipal();
+        }
+        String digest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+        if (verifiedToken == null) {
+            verifiedToken = verify(token);
+            verifiedTokens.put(digest, verifiedToken);
+        }
+        return verifiedToken.toPrincipal();
     }
 
     /**
@@ -52,31 +94,6 @@ public class JwtService {
         return generateToken(claims, userDetails);
     }
 
-    /**
-     * Проверяет, действителен ли JWT токен для заданного пользователя.
-     *
-     * @param token       JWT токен.
-     * @param userDetails детали пользователя.
-     * @return {@code true}, если токен действителен, {@code false} в противном случае.
-     */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Извлекает указанное требование (claim) из JWT.
-     *
-     * @param token           JWT токен.
-     * @param claimsResolvers функция для извлечения требуемого значения из Claims.
-     * @param <T>             тип извлеченного значения.
-     * @return извлеченное значение.
-     */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolvers.apply(claims);
-    }
-
     /**
      * Генерирует JWT с заданными дополнительными требованиями и деталями пользователя.
      *
@@ -89,52 +106,75 @@ public class JwtService {
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + Integer.parseInt(expiration)))
-                .signWith(getSignInKey())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(signInKey)
                 .compact();
     }
 
     /**
-     * Проверяет, истек ли срок действия JWT.
+     * Разбирает JWT, проверяет его подпись и срок действия и извлекает требования принципала.
      *
      * @param token JWT токен.
-     * @return {@code true}, если токен истек, {@code false} в противном случае.
+     * @return проверенные требования токена.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Long id = claims.get("id", Long.class);
+        if (id == null) {
+            throw new IllegalArgumentException("JWT does not contain user id");
+        }
+        Set<Role> roles = new HashSet<>();
+        if (claims.get("roles") instanceof Collection<?> roleNames) {
+            roleNames.forEach(role -> roles.add(Role.valueOf(role.toString())));
+        }
+        Date expiresAt = claims.getExpiration();
+        return new VerifiedToken(id, claims.getSubject(), Set.copyOf(roles),
+                expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime());
     }
 
     /**
-     * Извлекает дату истечения срока действия JWT.
+     * Вычисляет SHA-256 токена, чтобы не хранить в памяти сами токены.
      *
      * @param token JWT токен.
-     * @return дата истечения срока действия токена.
+     * @return SHA-256 токена в Base64.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    /**
-     * Извлекает все требования (claims) из JWT.
-     *
-     * @param token JWT токен.
-     * @return объект {@link Claims}, содержащий все требования токена.
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private record VerifiedToken(Long id, String email, Set<Role> roles, long expiresAtMillis) {
+        User toPrincipal() {
+            User user = User.builder()
+                    .email(email)
+                    .roles(new HashSet<>(roles))
+                    .build();
+            user.setId(id);
+            return user;
+        }
     }
 
-    /**
-     * Получает ключ подписи для JWT из секретного ключа.
-     *
-     * @return объект {@link SecretKey}, используемый для подписи JWT.
-     */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class UntilTokenExpiration implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+            long millisLeft = verifiedToken.expiresAtMillis() - System.currentTimeMillis();
+            return millisLeft <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(millisLeft);
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken verifiedToken,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken verifiedToken,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
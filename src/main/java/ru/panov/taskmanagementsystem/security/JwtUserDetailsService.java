@@ -1,21 +1,30 @@
 package ru.panov.taskmanagementsystem.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.config.CacheConfig;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.notification.CacheInvalidationHandler;
 import ru.panov.taskmanagementsystem.reposirory.UserRepository;
 
 /**
  * Сервис для загрузки деталей пользователя по его email.
  * Реализует интерфейс {@link UserDetailsService} и предоставляет механизм
  * для получения информации о пользователе из базы данных.
+ * Реализует {@link UserDetailsPasswordService} для перекодирования пароля при входе,
+ * если сложность его хеша отличается от текущей.
  */
 @Service
 @RequiredArgsConstructor
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final CacheInvalidationHandler cacheInvalidationHandler;
 
     /**
      * Загружает детали пользователя по его email.
@@ -29,4 +38,25 @@ public class JwtUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email).orElseThrow(() ->
                 new UsernameNotFoundException("User ‘" + email + "’ not found"));
     }
+
+    /**
+     * Сохраняет пароль пользователя, перекодированный с текущей сложностью.
+     * Пользователь удаляется из кэша {@value CacheConfig#USERS_CACHE} на всех экземплярах приложения,
+     * чтобы там не оставалась сущность с прежним хешем.
+     *
+     * @param user        пользователь, успешно прошедший аутентификацию.
+     * @param newPassword новый хеш пароля.
+     * @return пользователь с новым хешем пароля.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#user.id")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof User customUser) {
+            customUser.setPassword(newPassword);
+            cacheInvalidationHandler.publish(CacheConfig.USERS_CACHE, customUser.getId());
+        }
+        return user;
+    }
 }
\ No newline at end of file
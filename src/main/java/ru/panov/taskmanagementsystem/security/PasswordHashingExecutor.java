@@ -0,0 +1,112 @@
+package ru.panov.taskmanagementsystem.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.panov.taskmanagementsystem.exception.PasswordHashingRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул для хеширования и проверки паролей (BCrypt).
+ * Хеширование выполняется в {@code auth.hashing.pool-size} потоках (0 — половина ядер),
+ * поэтому всплеск входов в систему не занимает процессор, нужный остальным запросам.
+ * Если очередь ({@code auth.hashing.queue-capacity}) заполнена или задача не началась
+ * за {@code auth.hashing.queue-timeout}, запрос сразу отклоняется с
+ * {@link PasswordHashingRejectedException}, который возвращается клиенту как 503.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private final ExecutorService executor;
+    private final Duration queueTimeout;
+
+    public PasswordHashingExecutor(@Value("${auth.hashing.pool-size:0}") int poolSize,
+                                   @Value("${auth.hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${auth.hashing.queue-timeout:5s}") Duration queueTimeout,
+                                   MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads,
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, "password.hashing");
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * Выполняет задачу в пуле хеширования и ожидает ее результата.
+     *
+     * @param task задача, хеширующая или проверяющая пароль.
+     * @param <T>  тип результата.
+     * @return результат задачи.
+     * @throws PasswordHashingRejectedException если пул перегружен.
+     */
+    public <T> T execute(Supplier<T> task) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    throw new CancellationException();
+                }
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Очередь хеширования паролей заполнена", e);
+        }
+        try {
+            return future.get(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                throw new PasswordHashingRejectedException("Превышено время ожидания в очереди хеширования паролей");
+            }
+            return await(future);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Ожидание хеширования пароля прервано", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Ожидание хеширования пароля прервано", e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+}
@@ -1,9 +1,11 @@
 package ru.panov.taskmanagementsystem.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.model.Comment;
 import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
 
 import java.util.List;
 
@@ -30,8 +32,11 @@ public interface CommentService {
      * @param commentRequest объект запроса, содержащий обновленные данные комментария.
      * @param taskId         ID задачи, к которой относится комментарий.
      * @param userId         ID пользователя, обновляющего комментарий.
+     * @param version        ожидаемая версия комментария или {@code null}, если версия не проверяется.
+     * @return новая версия комментария.
+     * @throws InputDataConflictException если комментарий изменен другим запросом после чтения ожидаемой версии.
      */
-    void update(Long commentId, CommentRequest commentRequest, Long taskId, Long userId);
+    Long update(Long commentId, CommentRequest commentRequest, Long taskId, Long userId, Long version);
 
     /**
      * Удаляет комментарий по его ID.
@@ -51,6 +56,15 @@ public interface CommentService {
      */
     List<CommentResponse> commentsByTask(Long taskId, Pageable pageable);
 
+    /**
+     * Возвращает версию комментариев задачи для условных GET-запросов.
+     * Версия вычисляется агрегатным запросом без загрузки комментариев.
+     *
+     * @param taskId ID задачи.
+     * @return {@link ResourceVersion} комментариев задачи.
+     */
+    ResourceVersion commentsVersion(Long taskId);
+
     /**
      * Возвращает комментарий по его ID.
      *
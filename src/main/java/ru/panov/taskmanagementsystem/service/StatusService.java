@@ -1,5 +1,6 @@
 package ru.panov.taskmanagementsystem.service;
 
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.model.Status;
 import ru.panov.taskmanagementsystem.model.dto.request.StatusRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.StatusResponse;
@@ -22,6 +23,8 @@ public interface StatusService {
 
     /**
      * Возвращает статус по его ID.
+     * Результат кэшируется; при изменении или удалении статуса запись кэша
+     * инвалидируется на всех экземплярах приложения.
      *
      * @param statusId ID статуса.
      * @return объект {@link Status}, представляющий статус задачи.
@@ -40,8 +43,11 @@ public interface StatusService {
      *
      * @param statusId      ID статуса, который необходимо обновить.
      * @param statusRequest объект запроса, содержащий обновленные данные статуса.
+     * @param version       ожидаемая версия статуса или {@code null}, если версия не проверяется.
+     * @return новая версия статуса.
+     * @throws InputDataConflictException если статус изменен другим запросом после чтения ожидаемой версии.
      */
-    void update(Long statusId, StatusRequest statusRequest);
+    Long update(Long statusId, StatusRequest statusRequest, Long version);
 
     /**
      * Получает список всех статусов задач.
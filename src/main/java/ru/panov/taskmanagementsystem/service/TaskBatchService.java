@@ -0,0 +1,22 @@
+package ru.panov.taskmanagementsystem.service;
+
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskBatchRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskBatchResponse;
+
+/**
+ * Сервис пакетного выполнения операций над задачами и комментариями.
+ */
+public interface TaskBatchService {
+    /**
+     * Выполняет операции пакета по порядку в одной транзакции.
+     * Операция может ссылаться на задачу, созданную предыдущей операцией пакета, по ее номеру ({@code taskRef}).
+     * Ошибка любой операции отменяет весь пакет; сообщение об ошибке содержит номер операции.
+     *
+     * @param batchRequest пакет операций.
+     * @param userId       ID пользователя, выполняющего операции.
+     * @return {@link TaskBatchResponse} с результатами операций в порядке выполнения.
+     * @throws InputDataConflictException если для операции не переданы обязательные данные.
+     */
+    TaskBatchResponse execute(TaskBatchRequest batchRequest, Long userId);
+}
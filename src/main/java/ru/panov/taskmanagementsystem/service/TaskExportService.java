@@ -0,0 +1,26 @@
+package ru.panov.taskmanagementsystem.service;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.panov.taskmanagementsystem.model.ExportFormat;
+import ru.panov.taskmanagementsystem.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Сервис потоковой выгрузки задач.
+ */
+public interface TaskExportService {
+    /**
+     * Записывает в поток все задачи, удовлетворяющие спецификации.
+     * Задачи читаются из БД курсором и сразу записываются в выходной поток,
+     * поэтому расход памяти не зависит от количества задач. Соединение с БД
+     * удерживается только на время записи.
+     *
+     * @param specification спецификация для фильтрации задач.
+     * @param format        формат выгрузки.
+     * @param outputStream  поток, в который записываются задачи.
+     * @throws IOException если не удалось записать данные в поток.
+     */
+    void export(Specification<Task> specification, ExportFormat format, OutputStream outputStream) throws IOException;
+}
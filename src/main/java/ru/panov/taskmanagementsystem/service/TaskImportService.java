@@ -0,0 +1,21 @@
+package ru.panov.taskmanagementsystem.service;
+
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Сервис массового импорта задач.
+ */
+public interface TaskImportService {
+    /**
+     * Импортирует задачи из потока в формате NDJSON (один JSON-объект задачи на строку).
+     * Строки читаются и валидируются порциями; каждая порция сохраняется в отдельной транзакции,
+     * поэтому ошибка в одной строке не отменяет импорт остальных.
+     *
+     * @param ndjson поток с данными задач.
+     * @param userId ID пользователя, создающего задачи.
+     * @return {@link TaskImportResponse} с количеством сохраненных задач и ошибками по номерам строк.
+     */
+    TaskImportResponse importTasks(InputStream ndjson, Long userId);
+}
@@ -2,12 +2,21 @@ package ru.panov.taskmanagementsystem.service;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.panov.taskmanagementsystem.exception.DuplicateException;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.model.Task;
 import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskCursorResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+import ru.panov.taskmanagementsystem.util.TaskIdPage;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Сервис для управления задачами в системе управления задачами.
@@ -47,9 +56,44 @@ public interface TaskService {
      * @param taskId    ID задачи.
      * @param userId    ID пользователя, назначающего исполнителя.
      * @param performId ID пользователя, который назначается исполнителем.
-     * @return {@link TaskResponse} объект, содержащий обновленную информацию о задаче.
+     * @throws NotFoundException  если задача не найдена у пользователя или исполнитель не существует.
+     * @throws DuplicateException если исполнитель уже добавлен к задаче.
      */
-    TaskResponse addPerformer(Long taskId, Long userId, Long performId);
+    void addPerformer(Long taskId, Long userId, Long performId);
+
+    /**
+     * Назначает задаче набор исполнителей одним запросом. Уже назначенные исполнители пропускаются.
+     *
+     * @param taskId       ID задачи.
+     * @param userId       ID автора задачи.
+     * @param performerIds ID назначаемых исполнителей.
+     * @return количество новых исполнителей задачи.
+     * @throws NotFoundException если задача не найдена у пользователя или среди ID есть несуществующие пользователи.
+     */
+    int assignPerformers(Long taskId, Long userId, Set<Long> performerIds);
+
+    /**
+     * Снимает с задачи набор исполнителей одним запросом. ID, не назначенные исполнителями, пропускаются.
+     *
+     * @param taskId       ID задачи.
+     * @param userId       ID автора задачи.
+     * @param performerIds ID снимаемых исполнителей.
+     * @return количество снятых исполнителей.
+     * @throws NotFoundException если задача не найдена у пользователя.
+     */
+    int unassignPerformers(Long taskId, Long userId, Set<Long> performerIds);
+
+    /**
+     * Возвращает задачу с исполнителями и комментариями, сериализованную в JSON.
+     * Представление берется из кэша вне кучи, если оно сохранено для текущей наибольшей из дат изменения
+     * задачи, ее статуса и исполнителей, и пишется в поток ответа из кэша без повторной сериализации;
+     * возвращенное тело нужно записать ровно один раз.
+     *
+     * @param taskId ID задачи.
+     * @return тело ответа с JSON {@link TaskResponse}.
+     * @throws NotFoundException если задача не найдена.
+     */
+    StreamingResponseBody getJsonById(Long taskId);
 
     /**
      * Возвращает список всех исполнителей задачи по её ID.
@@ -59,14 +103,25 @@ public interface TaskService {
      */
     List<UserResponse> getPerformerByTaskId(Long taskId);
 
+    /**
+     * Возвращает версию списка исполнителей задачи для условных GET-запросов.
+     *
+     * @param taskId ID задачи.
+     * @return {@link ResourceVersion} списка исполнителей (пустая версия, если задачи нет).
+     */
+    ResourceVersion getPerformersVersion(Long taskId);
+
     /**
      * Обновляет существующую задачу.
      *
      * @param taskId      ID задачи, которую необходимо обновить.
      * @param taskRequest объект запроса, содержащий обновленные данные задачи.
      * @param userId      ID пользователя, обновляющего задачу.
+     * @param version     ожидаемая версия задачи или {@code null}, если версия не проверяется.
+     * @return новая версия задачи.
+     * @throws InputDataConflictException если задача изменена другим запросом после чтения ожидаемой версии.
      */
-    void update(Long taskId, TaskRequest taskRequest, Long userId);
+    Long update(Long taskId, TaskRequest taskRequest, Long userId, Long version);
 
     /**
      * Обновляет статус задачи.
@@ -74,17 +129,95 @@ public interface TaskService {
      * @param taskId   ID задачи.
      * @param userId   ID пользователя, обновляющего статус.
      * @param statusId ID нового статуса.
+     * @param version  ожидаемая версия задачи или {@code null}, если версия не проверяется.
+     * @return новая версия задачи.
+     * @throws InputDataConflictException если задача изменена другим запросом после чтения ожидаемой версии.
      */
-    void updateStatus(Long taskId, Long userId, Long statusId);
+    Long updateStatus(Long taskId, Long userId, Long statusId, Long version);
 
     /**
      * Возвращает список всех задач с учетом спецификаций и пагинации.
      *
      * @param specification объект {@link Specification} для фильтрации задач.
      * @param pageable      объект {@link Pageable} для пагинации результатов.
+     * @param fields        набор полей задачи, которые нужно вернуть.
      * @return список {@link TaskResponse}, представляющий задачи.
      */
-    List<TaskResponse> getAll(Specification<Task> specification, Pageable pageable);
+    List<TaskResponse> getAll(Specification<Task> specification, Pageable pageable, TaskFields fields);
+
+    /**
+     * Возвращает страницу задач с keyset-пагинацией по (created, id) без подсчета общего количества.
+     *
+     * @param specification объект {@link Specification} для фильтрации задач.
+     * @param cursor        курсор, полученный вместе с предыдущей страницей (пустой для первой страницы).
+     * @param limit         количество записей на страницу.
+     * @param fields        набор полей задачи, которые нужно вернуть.
+     * @return {@link TaskCursorResponse}, содержащий задачи и курсор следующей страницы.
+     */
+    TaskCursorResponse getAll(Specification<Task> specification, String cursor, int limit, TaskFields fields);
+
+    /**
+     * Возвращает ID задач одной страницы с пагинацией по смещению.
+     *
+     * @param specification объект {@link Specification} для фильтрации задач.
+     * @param pageable      объект {@link Pageable} для пагинации результатов.
+     * @return список ID задач в порядке сортировки.
+     */
+    List<Long> getIds(Specification<Task> specification, Pageable pageable);
+
+    /**
+     * Возвращает ID задач одной страницы с keyset-пагинацией по (created, id).
+     *
+     * @param specification объект {@link Specification} для фильтрации задач.
+     * @param cursor        курсор, полученный вместе с предыдущей страницей (пустой для первой страницы).
+     * @param limit         количество записей на страницу.
+     * @return {@link TaskIdPage}, содержащий ID задач и курсор следующей страницы.
+     * @throws InputDataConflictException если курсор некорректен.
+     */
+    TaskIdPage getIds(Specification<Task> specification, String cursor, int limit);
+
+    /**
+     * Возвращает представления задач с переданными ID.
+     *
+     * @param ids    список ID задач.
+     * @param fields набор полей задачи, которые нужно вернуть.
+     * @return список {@link TaskResponse} в порядке переданных ID.
+     */
+    List<TaskResponse> getAllByIds(List<Long> ids, TaskFields fields);
+
+    /**
+     * Возвращает версию представлений задач одной страницы для условных GET-запросов.
+     * Версия вычисляется агрегатным запросом только по задачам страницы, их статусам и исполнителям,
+     * поэтому ее стоимость не зависит от общего количества задач.
+     *
+     * @param ids список ID задач страницы.
+     * @return {@link ResourceVersion} страницы задач.
+     */
+    ResourceVersion getVersion(List<Long> ids);
+
+    /**
+     * Выполняет полнотекстовый поиск задач по заголовку и описанию.
+     * Результаты упорядочены по релевантности (совпадения в заголовке весомее совпадений в описании).
+     *
+     * @param query       поисковый запрос (поддерживает синтаксис websearch: фразы в кавычках, "or", "-").
+     * @param header      подстрока заголовка для дополнительной фильтрации (опционально).
+     * @param description подстрока описания для дополнительной фильтрации (опционально).
+     * @param pageable    объект {@link Pageable} для пагинации результатов.
+     * @param fields      набор полей задачи, которые нужно вернуть.
+     * @return список {@link TaskResponse}, представляющий найденные задачи.
+     */
+    List<TaskResponse> search(String query, String header, String description, Pageable pageable, TaskFields fields);
+
+    /**
+     * Возвращает ID задач одной страницы полнотекстового поиска в порядке релевантности.
+     *
+     * @param query       поисковый запрос.
+     * @param header      подстрока заголовка для дополнительной фильтрации (опционально).
+     * @param description подстрока описания для дополнительной фильтрации (опционально).
+     * @param pageable    объект {@link Pageable} для пагинации результатов.
+     * @return список ID найденных задач.
+     */
+    List<Long> searchIds(String query, String header, String description, Pageable pageable);
 
     /**
      * Удаляет задачу по её ID и ID пользователя.
@@ -29,7 +29,8 @@ public interface UserService {
     JwtTokenResponse login(LoginRequest loginRequest);
 
     /**
-     * Возвращает пользователя по его ID.
+     * Возвращает пользователя по его ID вместе с ролями.
+     * Результат кэшируется с ограниченным временем жизни.
      *
      * @param userId ID пользователя.
      * @return объект {@link User}, представляющий пользователя.
@@ -4,18 +4,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.cache.TaskResponseCache;
 import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.mapper.CommentMapper;
 import ru.panov.taskmanagementsystem.model.Comment;
 import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
 import ru.panov.taskmanagementsystem.model.User;
 import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.notification.TaskEventHandler;
 import ru.panov.taskmanagementsystem.reposirory.CommentRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
 import ru.panov.taskmanagementsystem.service.CommentService;
 import ru.panov.taskmanagementsystem.service.TaskService;
 import ru.panov.taskmanagementsystem.service.UserService;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,39 +30,56 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
     private final UserService userService;
     private final TaskService taskService;
     private final CommentMapper commentMapper;
+    private final TaskEventHandler taskEventHandler;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskMembershipIndex taskMembershipIndex;
 
     @Override
     @Transactional
     public CommentResponse add(CommentRequest commentRequest, Long taskId, Long userId) {
-        Task task = taskService.getTaskById(taskId);
-        User user = userService.getById(userId);
-        if (!task.getPerformers().contains(user) &&
-                !task.getUser().equals(user)) {
+        if (!taskMembershipIndex.isMember(taskId, userId)
+                && !taskRepository.existsByIdAndUser_Id(taskId, userId)
+                && !taskRepository.existsByIdAndPerformers_Id(taskId, userId)) {
+            taskService.getTaskById(taskId);
             throw new InputDataConflictException(
                     ("Пользователь с id:%s не можеьт добавлять коментарии к задаче c id:%s," +
                             " т.к. не имеет отношения к задаче")
                             .formatted(userId, taskId));
         }
+        Task task = taskRepository.getReferenceById(taskId);
+        User user = userService.getById(userId);
         Comment comment = Comment.builder()
                 .author(user)
                 .comment(commentRequest.comment())
                 .task(task)
                 .build();
-        return commentMapper.commentToResponseEntity(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        taskEventHandler.publish(TaskEventType.COMMENT_ADDED, taskId, saved.getId());
+        taskResponseCache.evict(taskId);
+        return commentMapper.commentToResponseEntity(saved);
     }
 
     @Override
     @Transactional
-    public void update(Long commentId, CommentRequest commentRequest, Long taskId, Long userId) {
+    public Long update(Long commentId, CommentRequest commentRequest, Long taskId, Long userId, Long version) {
         Comment comment = getComment(commentId);
         if (comment.getTask().getId().equals(taskId)
                 && comment.getAuthor().getId().equals(userId)) {
+            if (version != null && !version.equals(comment.getVersion())) {
+                throw new InputDataConflictException(
+                        "Коментарий с id:%s изменен другим запросом: версия %s, ожидалась %s"
+                                .formatted(commentId, comment.getVersion(), version));
+            }
             comment.setComment(commentRequest.comment());
             comment.setUpdated(LocalDateTime.now());
-            commentRepository.save(comment);
+            Comment saved = commentRepository.saveAndFlush(comment);
+            taskEventHandler.publish(TaskEventType.COMMENT_UPDATED, taskId, commentId);
+            taskResponseCache.evict(taskId);
+            return saved.getVersion();
         } else {
             throw new InputDataConflictException(
                     ("Для изменения коментария с id:%s выбрана не та задача с id:%s," +
@@ -72,6 +95,8 @@ public class CommentServiceImpl implements CommentService {
         if (comment.getTask().getId().equals(taskId)
                 && comment.getAuthor().getId().equals(userId)) {
             commentRepository.deleteById(commentId);
+            taskEventHandler.publish(TaskEventType.COMMENT_DELETED, taskId, commentId);
+            taskResponseCache.evict(taskId);
         } else {
             throw new InputDataConflictException(
                     ("Для удаления коментария с id:%s выбрана не та задача с id:%s," +
@@ -87,6 +112,12 @@ public class CommentServiceImpl implements CommentService {
                 commentRepository.findByTask_Id(taskId, pageable).getContent());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion commentsVersion(Long taskId) {
+        return commentRepository.findVersionByTaskId(taskId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Comment getComment(Long commentId) {
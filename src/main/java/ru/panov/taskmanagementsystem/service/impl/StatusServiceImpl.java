@@ -1,13 +1,18 @@
 package ru.panov.taskmanagementsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import ru.panov.taskmanagementsystem.config.CacheConfig;
 import ru.panov.taskmanagementsystem.exception.DuplicateException;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.mapper.StatusMapper;
 import ru.panov.taskmanagementsystem.model.Status;
 import ru.panov.taskmanagementsystem.model.dto.request.StatusRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.StatusResponse;
+import ru.panov.taskmanagementsystem.notification.CacheInvalidationHandler;
 import ru.panov.taskmanagementsystem.reposirory.StatusRepository;
 import ru.panov.taskmanagementsystem.service.StatusService;
 
@@ -20,6 +25,7 @@ import java.util.Optional;
 public class StatusServiceImpl implements StatusService {
     public final StatusRepository statusRepository;
     public final StatusMapper statusMapper;
+    private final CacheInvalidationHandler cacheInvalidationHandler;
 
     @Override
     public StatusResponse create(StatusRequest statusRequest) {
@@ -31,6 +37,7 @@ public class StatusServiceImpl implements StatusService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.STATUSES_CACHE)
     public Status get(Long statusId) {
         return statusRepository.findById(statusId)
                 .orElseThrow(() ->
@@ -39,17 +46,26 @@ public class StatusServiceImpl implements StatusService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.STATUSES_CACHE, key = "#statusId")
     public void delete(Long statusId) {
         statusRepository.delete(get(statusId));
+        cacheInvalidationHandler.publish(CacheConfig.STATUSES_CACHE, statusId);
     }
 
     @Override
-    public void update(Long statusId, StatusRequest statusRequest) {
+    @CacheEvict(cacheNames = CacheConfig.STATUSES_CACHE, key = "#statusId")
+    public Long update(Long statusId, StatusRequest statusRequest, Long version) {
         Status status = get(statusId);
+        if (version != null && !version.equals(status.getVersion())) {
+            throw new InputDataConflictException("Статус с id:%s изменен другим запросом: версия %s, ожидалась %s"
+                    .formatted(statusId, status.getVersion(), version));
+        }
         checkUniq(statusRequest);
         status.setStatus(statusRequest.status());
         status.setUpdated(LocalDateTime.now());
-        statusRepository.save(status);
+        Status saved = statusRepository.save(status);
+        cacheInvalidationHandler.publish(CacheConfig.STATUSES_CACHE, statusId);
+        return saved.getVersion();
     }
 
     @Override
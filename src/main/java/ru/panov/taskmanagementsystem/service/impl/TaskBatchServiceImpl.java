@@ -0,0 +1,123 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.exception.DuplicateException;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.exception.NotFoundException;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskBatchRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskOperationRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskBatchResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskOperationResult;
+import ru.panov.taskmanagementsystem.service.CommentService;
+import ru.panov.taskmanagementsystem.service.TaskBatchService;
+import ru.panov.taskmanagementsystem.service.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TaskBatchServiceImpl implements TaskBatchService {
+    private final TaskService taskService;
+    private final CommentService commentService;
+
+    @Override
+    public TaskBatchResponse execute(TaskBatchRequest batchRequest, Long userId) {
+        List<TaskOperationResult> results = new ArrayList<>(batchRequest.operations().size());
+        for (TaskOperationRequest operation : batchRequest.operations()) {
+            int index = results.size();
+            try {
+                results.add(execute(index, operation, results, userId));
+            } catch (NotFoundException | DuplicateException | InputDataConflictException
+                     | IllegalArgumentException e) {
+                throw withIndex(index, e);
+            }
+        }
+        return new TaskBatchResponse(results);
+    }
+
+    private TaskOperationResult execute(int index, TaskOperationRequest operation,
+                                        List<TaskOperationResult> results, Long userId) {
+        return switch (operation.type()) {
+            case CREATE_TASK -> result(index, operation,
+                    taskService.create(required(operation.task(), "task"), userId).taskId(), null);
+            case UPDATE_TASK -> {
+                Long taskId = taskId(operation, results);
+                taskService.update(taskId, required(operation.task(), "task"), userId, operation.version());
+                yield result(index, operation, taskId, null);
+            }
+            case UPDATE_STATUS -> {
+                Long taskId = taskId(operation, results);
+                taskService.updateStatus(taskId, userId, required(operation.statusId(), "statusId"), operation.version());
+                yield result(index, operation, taskId, null);
+            }
+            case ADD_PERFORMER -> {
+                Long taskId = taskId(operation, results);
+                taskService.addPerformer(taskId, userId, required(operation.performerId(), "performerId"));
+                yield result(index, operation, taskId, null);
+            }
+            case DELETE_TASK -> {
+                Long taskId = taskId(operation, results);
+                taskService.delete(taskId, userId);
+                yield result(index, operation, taskId, null);
+            }
+            case ADD_COMMENT -> {
+                Long taskId = taskId(operation, results);
+                yield result(index, operation, taskId,
+                        commentService.add(required(operation.comment(), "comment"), taskId, userId).commentId());
+            }
+            case UPDATE_COMMENT -> {
+                Long taskId = taskId(operation, results);
+                Long commentId = required(operation.commentId(), "commentId");
+                commentService.update(commentId, required(operation.comment(), "comment"), taskId, userId,
+                        operation.version());
+                yield result(index, operation, taskId, commentId);
+            }
+            case DELETE_COMMENT -> {
+                Long taskId = taskId(operation, results);
+                Long commentId = required(operation.commentId(), "commentId");
+                commentService.delete(commentId, taskId, userId);
+                yield result(index, operation, taskId, commentId);
+            }
+        };
+    }
+
+    private static Long taskId(TaskOperationRequest operation, List<TaskOperationResult> results) {
+        if (operation.taskRef() == null) {
+            return required(operation.taskId(), "taskId или taskRef");
+        }
+        if (operation.taskId() != null) {
+            throw new InputDataConflictException("Нужно указать только одно из полей taskId и taskRef");
+        }
+        if (operation.taskRef() >= results.size()) {
+            throw new InputDataConflictException("taskRef:%s должен ссылаться на предыдущую операцию пакета"
+                    .formatted(operation.taskRef()));
+        }
+        return results.get(operation.taskRef()).taskId();
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new InputDataConflictException("Для операции не указано поле %s".formatted(field));
+        }
+        return value;
+    }
+
+    private static TaskOperationResult result(int index, TaskOperationRequest operation,
+                                              Long taskId, Long commentId) {
+        return new TaskOperationResult(index, operation.type(), taskId, commentId);
+    }
+
+    private static RuntimeException withIndex(int index, RuntimeException e) {
+        String message = "Операция %s: %s".formatted(index, e.getMessage());
+        return switch (e) {
+            case NotFoundException ignored -> new NotFoundException(message);
+            case DuplicateException ignored -> new DuplicateException(message);
+            case InputDataConflictException ignored -> new InputDataConflictException(message);
+            default -> new IllegalArgumentException(message);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.model.ExportFormat;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
+import ru.panov.taskmanagementsystem.service.TaskExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TaskExportServiceImpl implements TaskExportService {
+    static final int FETCH_SIZE = 500;
+    static final int FLUSH_INTERVAL = 1000;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("taskId")
+            .addColumn("header")
+            .addColumn("description")
+            .addColumn("status")
+            .addColumn("priority")
+            .addColumn("userId")
+            .build()
+            .withHeader();
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Specification<Task> specification, ExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        ObjectWriter writer = switch (format) {
+            case NDJSON -> objectMapper.writerFor(TaskResponse.class).withRootValueSeparator("\n");
+            case CSV -> CSV_MAPPER.writerFor(TaskResponse.class).with(CSV_SCHEMA);
+        };
+        try (SequenceWriter sequenceWriter = writer
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(outputStream);
+             Stream<TaskResponse> tasks = taskRepository.streamAll(specification, FETCH_SIZE)) {
+            Iterator<TaskResponse> iterator = tasks.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                sequenceWriter.write(iterator.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    sequenceWriter.flush();
+                }
+            }
+            sequenceWriter.flush();
+            if (format == ExportFormat.NDJSON && written > 0) {
+                outputStream.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.panov.taskmanagementsystem.model.Priority;
+import ru.panov.taskmanagementsystem.model.Status;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportError;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportResponse;
+import ru.panov.taskmanagementsystem.reposirory.StatusRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository;
+import ru.panov.taskmanagementsystem.service.TaskImportService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskImportServiceImpl implements TaskImportService {
+    static final int CHUNK_SIZE = 1000;
+
+    private final TaskBatchRepository taskBatchRepository;
+    private final StatusRepository statusRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public TaskImportResponse importTasks(InputStream ndjson, Long userId) {
+        Set<Long> statusIds = statusRepository.findAll().stream()
+                .map(Status::getId)
+                .collect(Collectors.toSet());
+        Map<String, Long> headerLines = new HashMap<>();
+        List<TaskImportError> errors = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long imported = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                String error = validate(line, lineNumber, statusIds, headerLines, chunk);
+                if (error != null) {
+                    errors.add(new TaskImportError(lineNumber, error));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += saveChunk(chunk, userId, errors);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        imported += saveChunk(chunk, userId, errors);
+
+        errors.sort(Comparator.comparingLong(TaskImportError::line));
+        return new TaskImportResponse(imported, errors);
+    }
+
+    private String validate(String line, long lineNumber, Set<Long> statusIds,
+                            Map<String, Long> headerLines, List<ImportRow> chunk) {
+        TaskRequest taskRequest;
+        try {
+            taskRequest = objectMapper.readValue(line, TaskRequest.class);
+        } catch (JsonProcessingException e) {
+            return "Некорректный JSON: %s".formatted(e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(taskRequest);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+        if (taskRequest.priority() > Priority.values().length) {
+            return "priority не может быть больше %s.".formatted(Priority.values().length);
+        }
+        if (!statusIds.contains(taskRequest.statusId())) {
+            return "Статус с id:%s не найден".formatted(taskRequest.statusId());
+        }
+        Long firstLine = headerLines.putIfAbsent(taskRequest.header(), lineNumber);
+        if (firstLine != null) {
+            return "Задача с заголовком: %s уже встречается в строке %s"
+                    .formatted(taskRequest.header(), firstLine);
+        }
+        chunk.add(new ImportRow(lineNumber, taskRequest));
+        return null;
+    }
+
+    private int saveChunk(List<ImportRow> chunk, Long userId, List<TaskImportError> errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Set<String> inserted = transactionTemplate.execute(status -> taskBatchRepository.insertAbsent(
+                chunk.stream().map(ImportRow::taskRequest).toList(), userId));
+        for (ImportRow row : chunk) {
+            if (!inserted.contains(row.taskRequest().header())) {
+                errors.add(new TaskImportError(row.line(), "Задача с заголовком: %s уже существует"
+                        .formatted(row.taskRequest().header())));
+            }
+        }
+        return inserted.size();
+    }
+
+    private record ImportRow(long line, TaskRequest taskRequest) {
+    }
+}
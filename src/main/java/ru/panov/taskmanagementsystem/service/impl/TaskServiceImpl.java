@@ -1,85 +1,166 @@
 package ru.panov.taskmanagementsystem.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.util.PSQLState;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.cache.TaskResponseCache;
 import ru.panov.taskmanagementsystem.exception.DuplicateException;
 import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.mapper.TaskMapper;
 import ru.panov.taskmanagementsystem.mapper.UserMapper;
-import ru.panov.taskmanagementsystem.model.Priority;
-import ru.panov.taskmanagementsystem.model.Status;
 import ru.panov.taskmanagementsystem.model.Task;
-import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
 import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskCursorResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
 import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+import ru.panov.taskmanagementsystem.notification.TaskEventHandler;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository.PerformersChange;
+import ru.panov.taskmanagementsystem.reposirory.TaskProjectionRepository;
 import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
+import ru.panov.taskmanagementsystem.reposirory.specifications.TaskSpecification;
 import ru.panov.taskmanagementsystem.service.StatusService;
 import ru.panov.taskmanagementsystem.service.TaskService;
 import ru.panov.taskmanagementsystem.service.UserService;
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+import ru.panov.taskmanagementsystem.util.TaskIdPage;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TaskServiceImpl implements TaskService {
+    private static final Sort LISTING_SORT = Sort.by(Sort.Direction.DESC, "created", "id");
+
     private final TaskRepository taskRepository;
+    private final TaskProjectionRepository taskProjectionRepository;
+    private final TaskBatchRepository taskBatchRepository;
     private final TaskMapper taskMapper;
     private final UserService userService;
     private final StatusService statusService;
     private final UserMapper userMapper;
+    private final TaskEventHandler taskEventHandler;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskMembershipIndex taskMembershipIndex;
+    private final ObjectMapper objectMapper;
 
     @Override
     public TaskResponse create(TaskRequest taskRequest, Long userId) {
-        checkUniq(taskRequest);
-
-        User user = userService.getById(userId);
-        Task task = Task.builder()
-                .header(taskRequest.header())
-                .description(taskRequest.description())
-                .status(statusService.get(taskRequest.statusId()))
-                .priority(Priority.values()[taskRequest.priority() - 1])
-                .user(user)
-                .build();
-        return taskMapper.entityToResponse(taskRepository.save(task));
+        return taskRepository.insertIfAbsent(taskRequest, userId)
+                .orElseThrow(() -> createConflict(taskRequest, userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Task getTaskByIdAndUserId(Long taskId, Long userId) {
         return taskRepository.findByIdAndUser_Id(taskId, userId)
-                .orElseThrow(() ->
-                        new NotFoundException("Задачи с id:%s у пользовтателя с id:%s не существует"
-                                .formatted(taskId, userId)));
+                .orElseThrow(() -> taskNotFound(taskId, userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Task getTaskById(Long taskId) {
-        return taskRepository.findById(taskId)
+        return taskRepository.findWithPerformersById(taskId)
                 .orElseThrow(() ->
                         new NotFoundException("Задачи с id:%s не существует"
                                 .formatted(taskId)));
     }
 
     @Override
-    public TaskResponse addPerformer(Long taskId, Long userId, Long performId) {
-        Task task = getTaskByIdAndUserId(taskId, userId);
-        List<User> users = task.getPerformers();
-        User performUser = userService.getById(performId);
-        if (users.contains(performUser)) {
+    public void addPerformer(Long taskId, Long userId, Long performId) {
+        PerformersChange change = taskBatchRepository.assignPerformers(taskId, userId, Set.of(performId));
+        if (!change.owned()) {
+            throw taskNotFound(taskId, userId);
+        }
+        if (change.found() == 0) {
+            throw new NotFoundException("Пользователь с id:%s не найден".formatted(performId));
+        }
+        if (change.changed() == 0) {
             throw new DuplicateException("Исполнитель с id:%s уже добавлен к задаче с id:%s"
                     .formatted(performId, taskId));
         }
-        users.add(performUser);
-        return taskMapper.entityToResponse(taskRepository.save(task));
+        taskMembershipIndex.invalidate(taskId);
+        taskEventHandler.publish(TaskEventType.PERFORMER_ADDED, taskId);
+        taskResponseCache.evict(taskId);
+    }
+
+    @Override
+    public int assignPerformers(Long taskId, Long userId, Set<Long> performerIds) {
+        PerformersChange change = taskBatchRepository.assignPerformers(taskId, userId, performerIds);
+        if (!change.owned()) {
+            throw taskNotFound(taskId, userId);
+        }
+        if (change.found() < performerIds.size()) {
+            throw new NotFoundException("Среди пользователей с id:%s есть несуществующие".formatted(performerIds));
+        }
+        if (change.changed() > 0) {
+            taskMembershipIndex.invalidate(taskId);
+            taskEventHandler.publish(TaskEventType.PERFORMER_ADDED, taskId);
+            taskResponseCache.evict(taskId);
+        }
+        return change.changed();
+    }
+
+    @Override
+    public int unassignPerformers(Long taskId, Long userId, Set<Long> performerIds) {
+        PerformersChange change = taskBatchRepository.unassignPerformers(taskId, userId, performerIds);
+        if (!change.owned()) {
+            throw taskNotFound(taskId, userId);
+        }
+        if (change.changed() > 0) {
+            taskMembershipIndex.invalidate(taskId);
+            taskEventHandler.publish(TaskEventType.PERFORMER_REMOVED, taskId);
+            taskResponseCache.evict(taskId);
+        }
+        return change.changed();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody getJsonById(Long taskId) {
+        LocalDateTime updated = taskProjectionRepository.findVersionByIds(List.of(taskId)).lastModified();
+        if (updated == null) {
+            throw new NotFoundException("Задачи с id:%s не существует".formatted(taskId));
+        }
+        TaskResponseCache.CachedJson cached = taskResponseCache.get(taskId, updated);
+        if (cached != null) {
+            return outputStream -> {
+                try (cached) {
+                    cached.writeTo(outputStream);
+                }
+            };
+        }
+        List<TaskResponse> tasks = taskProjectionRepository.findAllByIds(List.of(taskId));
+        if (tasks.isEmpty()) {
+            throw new NotFoundException("Задачи с id:%s не существует".formatted(taskId));
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(tasks.get(0));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        taskResponseCache.put(taskId, updated, json);
+        return outputStream -> outputStream.write(json);
     }
 
     @Override
@@ -90,47 +171,163 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public void update(Long taskId, TaskRequest taskRequest, Long userId) {
-        Task task = getTaskByIdAndUserId(taskId, userId);
-        task.setHeader(taskRequest.header());
-        task.setDescription(taskRequest.description());
-        task.setStatus(statusService.get(taskRequest.statusId()));
-        task.setPriority(Priority.values()[taskRequest.priority() - 1]);
-        task.setUpdated(LocalDateTime.now());
-        taskRepository.save(task);
+    @Transactional(readOnly = true)
+    public ResourceVersion getPerformersVersion(Long taskId) {
+        return taskRepository.findPerformersVersion(taskId)
+                .orElseGet(() -> new ResourceVersion(0L, null, null));
     }
 
     @Override
-    public void updateStatus(Long taskId, Long userId, Long statusId) {
-        Task task = getTaskById(taskId);
-        if (task.getPerformers().stream().noneMatch(u -> u.getId().equals(userId))) {
-            throw new InputDataConflictException(
-                    ("Пользователь c id:%s не может изменять статус задачи c id:%s, " +
-                            "т.к. не является исполнитиелем данной задачи")
-                            .formatted(userId, taskId));
+    public Long update(Long taskId, TaskRequest taskRequest, Long userId, Long version) {
+        Long newVersion;
+        try {
+            newVersion = taskRepository.updateIfOwner(taskId, userId, taskRequest, version)
+                    .orElseThrow(() -> updateConflict(taskId, taskRequest, userId, version));
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw duplicateHeader(taskRequest.header());
+            }
+            throw e;
         }
-        Status status = statusService.get(statusId);
-        task.setStatus(status);
-        taskRepository.save(task);
+        taskEventHandler.publish(TaskEventType.TASK_UPDATED, taskId);
+        taskResponseCache.evict(taskId);
+        return newVersion;
+    }
+
+    @Override
+    public Long updateStatus(Long taskId, Long userId, Long statusId, Long version) {
+        Long newVersion = taskRepository.updateStatusIfPerformer(taskId, userId, statusId, version)
+                .orElseThrow(() -> updateStatusConflict(taskId, userId, statusId, version));
+        taskEventHandler.publish(TaskEventType.STATUS_CHANGED, taskId);
+        taskResponseCache.evict(taskId);
+        return newVersion;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAll(Specification<Task> specification, Pageable pageable, TaskFields fields) {
+        return getAllByIds(getIds(specification, pageable), fields);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAll(Specification<Task> specification, Pageable pageable) {
-        return taskMapper.listEntityToListResponse(taskRepository.findAll(specification, pageable).getContent());
+    public TaskCursorResponse getAll(Specification<Task> specification, String cursor, int limit, TaskFields fields) {
+        TaskIdPage page = getIds(specification, cursor, limit);
+        return new TaskCursorResponse(getAllByIds(page.ids(), fields), page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getIds(Specification<Task> specification, Pageable pageable) {
+        return taskRepository.findIds(specification, LISTING_SORT, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskIdPage getIds(Specification<Task> specification, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must not be less than one");
+        }
+        if (StringUtils.isNotEmpty(cursor)) {
+            specification = specification.and(TaskSpecification.createdBefore(TaskCursor.decode(cursor)));
+        }
+        List<TaskCursor> keys = taskRepository.findKeys(specification, LISTING_SORT, limit + 1);
+        List<TaskCursor> page = keys.subList(0, Math.min(limit, keys.size()));
+        String nextCursor = null;
+        if (keys.size() > limit) {
+            nextCursor = page.get(page.size() - 1).encode();
+        }
+        return new TaskIdPage(page.stream().map(TaskCursor::id).toList(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllByIds(List<Long> ids, TaskFields fields) {
+        return taskProjectionRepository.findAllByIds(ids, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(List<Long> ids) {
+        return taskProjectionRepository.findVersionByIds(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> search(String query, String header, String description, Pageable pageable,
+                                     TaskFields fields) {
+        return getAllByIds(searchIds(query, header, description, pageable), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> searchIds(String query, String header, String description, Pageable pageable) {
+        return taskRepository.searchIds(query, header, description, pageable.getOffset(), pageable.getPageSize());
     }
 
     @Override
     public void delete(Long taskId, Long userId) {
         Task task = getTaskByIdAndUserId(taskId, userId);
         taskRepository.delete(task);
+        taskResponseCache.evict(taskId);
+        taskMembershipIndex.invalidate(taskId);
+    }
+
+    private RuntimeException createConflict(TaskRequest taskRequest, Long userId) {
+        statusService.get(taskRequest.statusId());
+        userService.getById(userId);
+        return duplicateHeader(taskRequest.header());
+    }
+
+    private RuntimeException updateConflict(Long taskId, TaskRequest taskRequest, Long userId, Long version) {
+        Task task = getTaskByIdAndUserId(taskId, userId);
+        if (version != null && !version.equals(task.getVersion())) {
+            return versionConflict(taskId, version, task.getVersion());
+        }
+        statusService.get(taskRequest.statusId());
+        return duplicateHeader(taskRequest.header());
     }
 
-    private void checkUniq(TaskRequest taskRequest) {
-        Optional<Task> taskByHeader = taskRepository.findByHeader(taskRequest.header());
-        if (taskByHeader.isPresent()) {
-            throw new DuplicateException("Задача с заголовком: %s уже существует"
-                    .formatted(taskRequest.header()));
+    private RuntimeException updateStatusConflict(Long taskId, Long userId, Long statusId, Long version) {
+        Long currentVersion = taskRepository.findVersionById(taskId).orElse(null);
+        if (currentVersion == null) {
+            return new NotFoundException("Задачи с id:%s не существует".formatted(taskId));
+        }
+        if (!taskRepository.existsByIdAndPerformers_Id(taskId, userId)) {
+            return new InputDataConflictException(
+                    ("Пользователь c id:%s не может изменять статус задачи c id:%s, " +
+                            "т.к. не является исполнитиелем данной задачи")
+                            .formatted(userId, taskId));
+        }
+        if (version != null && !version.equals(currentVersion)) {
+            return versionConflict(taskId, version, currentVersion);
         }
+        statusService.get(statusId);
+        return new InputDataConflictException("Задача с id:%s изменена другим запросом, повторите запрос"
+                .formatted(taskId));
+    }
+
+    private static NotFoundException taskNotFound(Long taskId, Long userId) {
+        return new NotFoundException("Задачи с id:%s у пользовтателя с id:%s не существует"
+                .formatted(taskId, userId));
+    }
+
+    private static InputDataConflictException versionConflict(Long taskId, Long expected, Long actual) {
+        return new InputDataConflictException("Задача с id:%s изменена другим запросом: версия %s, ожидалась %s"
+                .formatted(taskId, actual, expected));
+    }
+
+    /**
+     * Проверяет, что запись нарушила ограничение уникальности. При обновлении задачи это возможно только
+     * для заголовка: проверка {@code not exists} в UPDATE не видит параллельную незафиксированную
+     * транзакцию, переименовавшую другую задачу в тот же заголовок.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && PSQLState.UNIQUE_VIOLATION.getState().equals(sqlException.getSQLState());
+    }
+
+    private static DuplicateException duplicateHeader(String header) {
+        return new DuplicateException("Задача с заголовком: %s уже существует".formatted(header));
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.panov.taskmanagementsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -8,7 +9,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.config.CacheConfig;
 import ru.panov.taskmanagementsystem.exception.DuplicateException;
 import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
@@ -21,6 +24,7 @@ import ru.panov.taskmanagementsystem.model.dto.request.LoginRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
 import ru.panov.taskmanagementsystem.reposirory.UserRepository;
 import ru.panov.taskmanagementsystem.security.JwtService;
+import ru.panov.taskmanagementsystem.security.PasswordHashingExecutor;
 import ru.panov.taskmanagementsystem.service.UserService;
 
 import java.util.HashSet;
@@ -37,8 +41,10 @@ public class UserServiceImpl implements UserService {
     private final UserDetailsService detailsService;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse register(UserRequest userRequest) {
         Optional<User> currentUser = userRepository.findByEmail(userRequest.email());
 
@@ -54,20 +60,21 @@ public class UserServiceImpl implements UserService {
                 .firstName(userRequest.firstName())
                 .email(userRequest.email())
                 .roles(roles)
-                .password(passwordEncoder.encode(userRequest.password()))
+                .password(passwordHashingExecutor.execute(() -> passwordEncoder.encode(userRequest.password())))
                 .build();
         return userMapper.userToResponseEntity(userRepository.save(newUser));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public JwtTokenResponse login(LoginRequest loginRequest) {
         try {
-            authenticationManager.authenticate(
+            passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.email(),
                             loginRequest.password()
                     )
-            );
+            ));
         } catch (BadCredentialsException e) {
             throw new InputDataConflictException("Неправильное имя пользователя или пароль");
         }
@@ -80,8 +87,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE)
+    @Transactional(readOnly = true)
     public User getById(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id:%s не найден".formatted(userId)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package ru.panov.taskmanagementsystem.util;
+
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Версия сущности для оптимистичной блокировки. Передается клиенту в заголовке ETag
+ * в виде {@code "<версия>"} и принимается обратно в заголовке If-Match запросов на изменение.
+ *
+ * @param value номер версии сущности.
+ */
+public record EntityVersion(Long value) {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    /**
+     * Возвращает значение сильного ETag.
+     *
+     * @return ETag в кавычках.
+     */
+    public String etag() {
+        return QUOTE + value + QUOTE;
+    }
+
+    /**
+     * Разбирает заголовок If-Match запроса на изменение. Заголовок может содержать список ETag через запятую;
+     * условие выполняется, если текущая версия совпадает с любым из них. If-Match требует сильного сравнения,
+     * поэтому слабые ETag ({@code W/"..."}) ни с чем не совпадают и пропускаются.
+     *
+     * @param ifMatch        значение заголовка If-Match (опционально).
+     * @param currentVersion текущая версия сущности; запрашивается, только если в списке несколько версий.
+     * @return ожидаемая версия сущности: единственная версия из списка, либо текущая версия, если она есть
+     * в списке, либо первая версия из списка (такое условие не выполнится при изменении); {@code null},
+     * если заголовок не передан или равен {@code *}.
+     * @throws InputDataConflictException если заголовок не содержит ни одной версии, выданной сервером:
+     *                                    такое условие не может совпасть ни с одной версией.
+     */
+    public static Long fromIfMatch(String ifMatch, Supplier<Long> currentVersion) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        List<Long> versions = strongVersions(ifMatch);
+        if (versions.isEmpty()) {
+            throw new InputDataConflictException("Условие If-Match: %s не совпадает с текущей версией"
+                    .formatted(ifMatch));
+        }
+        if (versions.size() == 1) {
+            return versions.get(0);
+        }
+        Long current = currentVersion.get();
+        return versions.contains(current) ? current : versions.get(0);
+    }
+
+    private static List<Long> strongVersions(String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        int position = 0;
+        while (position < ifMatch.length()) {
+            char c = ifMatch.charAt(position);
+            if (c == ',' || Character.isWhitespace(c)) {
+                position++;
+                continue;
+            }
+            boolean weak = ifMatch.startsWith(WEAK_PREFIX, position);
+            int open = weak ? position + WEAK_PREFIX.length() : position;
+            int close = ifMatch.indexOf(QUOTE, open + 1);
+            if (!ifMatch.startsWith(QUOTE, open) || close < 0) {
+                return List.of();
+            }
+            Long version = weak ? null : parseVersion(ifMatch.substring(open + 1, close));
+            if (version != null && !versions.contains(version)) {
+                versions.add(version);
+            }
+            position = close + 1;
+        }
+        return versions;
+    }
+
+    private static Long parseVersion(String tag) {
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
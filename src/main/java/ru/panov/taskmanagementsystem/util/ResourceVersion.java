@@ -0,0 +1,51 @@
+package ru.panov.taskmanagementsystem.util;
+
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Версия набора записей для условных GET-запросов, вычисляемая агрегатным запросом
+ * без загрузки самих записей: количество, наибольшая дата изменения и сумма дат изменения.
+ * Количество меняется при добавлении и удалении записей, сумма — при изменении любой записи,
+ * даже если ее новая дата изменения не превышает наибольшую в наборе.
+ *
+ * @param count        количество записей.
+ * @param lastModified наибольшая дата изменения или {@code null}, если записей нет.
+ * @param checksum     сумма дат изменения записей в секундах от начала эпохи.
+ */
+public record ResourceVersion(Long count, LocalDateTime lastModified, Double checksum) {
+    /**
+     * Возвращает значение сильного ETag JSON-представления.
+     *
+     * @return ETag в кавычках.
+     */
+    public String etag() {
+        return etag(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Возвращает значение сильного ETag представления в указанном формате. Байты ответа в JSON, CBOR и Smile
+     * различаются, поэтому ETag двоичных форматов дополнительно содержит подтип формата.
+     *
+     * @param mediaType формат ответа, выбранный по заголовку Accept.
+     * @return ETag в кавычках.
+     */
+    public String etag(MediaType mediaType) {
+        String tag = "%x-%x-%x".formatted(count, lastModifiedMillis(),
+                checksum == null ? 0 : Math.round(checksum * 1000));
+        return MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)
+                ? "\"%s\"".formatted(tag)
+                : "\"%s-%s\"".formatted(tag, mediaType.getSubtype());
+    }
+
+    /**
+     * Возвращает значение заголовка Last-Modified.
+     *
+     * @return время последнего изменения в миллисекундах или {@code -1}, если записей нет.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
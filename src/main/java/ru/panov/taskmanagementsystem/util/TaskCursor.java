@@ -0,0 +1,53 @@
+package ru.panov.taskmanagementsystem.util;
+
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор для keyset-пагинации задач.
+ * Хранит ключ сортировки (дату создания и ID) последней задачи страницы
+ * и передается клиенту в виде непрозрачной строки.
+ *
+ * @param created дата создания последней задачи страницы.
+ * @param id      ID последней задачи страницы.
+ */
+public record TaskCursor(LocalDateTime created, Long id) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Кодирует курсор в непрозрачную строку.
+     *
+     * @return строка курсора в формате Base64 (URL-safe).
+     */
+    public String encode() {
+        String raw = created + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирует курсор из строки, полученной от клиента.
+     *
+     * @param token строка курсора.
+     * @return декодированный курсор.
+     * @throws InputDataConflictException если строка не является корректным курсором.
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(token);
+            }
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InputDataConflictException("Некорректный курсор пагинации: %s".formatted(token));
+        }
+    }
+}
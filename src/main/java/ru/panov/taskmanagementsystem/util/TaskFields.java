@@ -0,0 +1,85 @@
+package ru.panov.taskmanagementsystem.util;
+
+import org.apache.commons.lang3.StringUtils;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Набор полей задачи, запрошенных клиентом в списке задач.
+ * ID задачи возвращается всегда; поля, не вошедшие в набор, не выбираются из БД
+ * и не попадают в ответ.
+ *
+ * @param fields     запрошенные скалярные поля задачи.
+ * @param performers загружать ли исполнителей задачи.
+ * @param comments   загружать ли комментарии задачи.
+ */
+public record TaskFields(Set<String> fields, boolean performers, boolean comments) {
+    public static final String TASK_ID = "taskId";
+    public static final String HEADER = "header";
+    public static final String DESCRIPTION = "description";
+    public static final String STATUS = "status";
+    public static final String PRIORITY = "priority";
+    public static final String USER_ID = "userId";
+    public static final String VERSION = "version";
+    public static final String PERFORMERS = "performers";
+    public static final String COMMENTS = "comments";
+
+    private static final List<String> SCALAR_FIELDS = List.of(TASK_ID, HEADER, DESCRIPTION, STATUS, PRIORITY, USER_ID,
+            VERSION);
+    private static final List<String> EMBEDDED_FIELDS = List.of(PERFORMERS, COMMENTS);
+
+    /**
+     * Полное представление задачи: все поля, исполнители и комментарии.
+     */
+    public static final TaskFields ALL = new TaskFields(Set.copyOf(SCALAR_FIELDS), true, true);
+
+    /**
+     * Разбирает параметры запроса {@code fields} и {@code include}.
+     * Без обоих параметров возвращается полное представление. Если передан только {@code fields},
+     * исполнители и комментарии не загружаются; если передан только {@code include},
+     * возвращаются все скалярные поля.
+     *
+     * @param fields  перечисленные через запятую скалярные поля (опционально).
+     * @param include перечисленные через запятую вложенные коллекции: performers, comments (опционально).
+     * @return набор запрошенных полей.
+     * @throws InputDataConflictException если передано неизвестное поле.
+     */
+    public static TaskFields of(String fields, String include) {
+        if (fields == null && include == null) {
+            return ALL;
+        }
+        Set<String> scalars = fields == null ? Set.copyOf(SCALAR_FIELDS) : parse(fields, SCALAR_FIELDS);
+        Set<String> embedded = include == null ? Set.of() : parse(include, EMBEDDED_FIELDS);
+        return new TaskFields(Set.copyOf(scalars), embedded.contains(PERFORMERS), embedded.contains(COMMENTS));
+    }
+
+    /**
+     * Проверяет, запрошено ли скалярное поле.
+     *
+     * @param field имя поля.
+     * @return {@code true}, если поле входит в набор.
+     */
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    private static Set<String> parse(String value, List<String> allowed) {
+        Set<String> result = new LinkedHashSet<>();
+        Arrays.stream(StringUtils.split(value, ','))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .forEach(field -> {
+                    if (!allowed.contains(field)) {
+                        throw new InputDataConflictException(
+                                "Неизвестное поле задачи: %s. Допустимые значения: %s"
+                                        .formatted(field, String.join(", ", allowed)));
+                    }
+                    result.add(field);
+                });
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package ru.panov.taskmanagementsystem.util;
+
+import java.util.List;
+
+/**
+ * ID задач одной страницы keyset-пагинации и курсор следующей страницы.
+ *
+ * @param ids        ID задач страницы в порядке сортировки.
+ * @param nextCursor курсор следующей страницы или {@code null}, если страница последняя.
+ */
+public record TaskIdPage(List<Long> ids, String nextCursor) {
+}
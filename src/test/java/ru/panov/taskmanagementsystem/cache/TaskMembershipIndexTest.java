@@ -0,0 +1,104 @@
+package ru.panov.taskmanagementsystem.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex.Members;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskMembershipIndexTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskMembershipIndex(jdbcTemplate, 100, 10, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Участники задачи загружаются из БД один раз, проверки выполняются по индексу")
+    void isMember_LoadsOnce() {
+        whenLoaded(1L).thenReturn(List.of(new Members(1L, 10L, new long[]{20L, 30L})));
+
+        assertThat(index.isMember(1L, 10L)).isTrue();
+        assertThat(index.isMember(1L, 30L)).isTrue();
+        assertThat(index.isMember(1L, 40L)).isFalse();
+        assertThat(index.isMember(1L, 20L)).isTrue();
+
+        verify(jdbcTemplate, times(1)).query(anyString(), anyMembersMapper(), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Несуществующая задача не имеет участников и не сохраняется в индексе")
+    void isMember_TaskNotFound() {
+        whenLoaded(2L).thenReturn(List.of());
+
+        assertThat(index.isMember(2L, 10L)).isFalse();
+        assertThat(index.isMember(2L, 10L)).isFalse();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), anyMembersMapper(), eq(2L));
+    }
+
+    @Test
+    @DisplayName("Уведомление об изменении участников удаляет задачу из индекса")
+    void onNotification_EvictsTask() {
+        whenLoaded(1L)
+                .thenReturn(List.of(new Members(1L, 10L, new long[]{20L})))
+                .thenReturn(List.of(new Members(1L, 10L, new long[0])));
+
+        assertThat(index.isMember(1L, 20L)).isTrue();
+        index.onNotification("1");
+
+        assertThat(index.isMember(1L, 20L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Инвалидация удаляет задачу локально и оповещает остальные экземпляры")
+    void invalidate_NotifiesInstances() {
+        whenLoaded(1L).thenReturn(List.of(new Members(1L, 10L, new long[]{20L})));
+        index.isMember(1L, 20L);
+
+        index.invalidate(1L);
+        index.isMember(1L, 20L);
+
+        verify(jdbcTemplate, times(1)).queryForList("select pg_notify(?, ?)", TaskMembershipIndex.CHANNEL, "1");
+        verify(jdbcTemplate, times(2)).query(anyString(), anyMembersMapper(), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Все исполнители большой задачи находятся, посторонние пользователи нет")
+    void isMember_ManyPerformers() {
+        long[] performerIds = LongStream.rangeClosed(1, 1000).map(id -> id * 7).toArray();
+        whenLoaded(1L).thenReturn(List.of(new Members(1L, 7007L, performerIds)));
+
+        assertThat(LongStream.of(performerIds).allMatch(id -> index.isMember(1L, id))).isTrue();
+        assertThat(LongStream.rangeClosed(1, 7000).filter(id -> id % 7 != 0)
+                .noneMatch(id -> index.isMember(1L, id))).isTrue();
+    }
+
+    private OngoingStubbing<List<Members>> whenLoaded(Long taskId) {
+        return when(jdbcTemplate.query(anyString(), anyMembersMapper(), eq(taskId)));
+    }
+
+    private static RowMapper<Members> anyMembersMapper() {
+        return any();
+    }
+}
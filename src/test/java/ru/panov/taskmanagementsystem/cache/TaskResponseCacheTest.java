@@ -0,0 +1,125 @@
+package ru.panov.taskmanagementsystem.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskResponseCacheTest {
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private TaskResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskResponseCache(DataSize.ofKilobytes(2), DataSize.ofKilobytes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Представление возвращается только для той же даты изменения задачи")
+    void get_MatchesUpdated() throws IOException {
+        cache.put(1L, UPDATED, json("задача 1"));
+
+        assertThat(read(1L)).isEqualTo(json("задача 1"));
+        assertThat(cache.get(1L, UPDATED.plusSeconds(1))).isNull();
+        assertThat(cache.get(1L, UPDATED)).isNull();
+    }
+
+    @Test
+    @DisplayName("При исчерпании бюджета вытесняется давно не запрошенная запись того же размера")
+    void put_EvictsLeastRecentlyUsed() throws IOException {
+        for (long taskId = 1; taskId <= 8; taskId++) {
+            cache.put(taskId, UPDATED, json("задача " + taskId));
+        }
+        read(1L);
+
+        cache.put(9L, UPDATED, json("задача 9"));
+
+        assertThat(read(1L)).isEqualTo(json("задача 1"));
+        assertThat(cache.get(2L, UPDATED)).isNull();
+        assertThat(read(9L)).isEqualTo(json("задача 9"));
+        assertThat(cache.allocatedBytes()).isEqualTo(2048);
+    }
+
+    @Test
+    @DisplayName("Удаленная запись освобождает блок, слишком большое представление не сохраняется")
+    void evictAndOversize() {
+        cache.put(1L, UPDATED, json("задача 1"));
+        cache.evict(1L);
+        cache.put(2L, UPDATED, new byte[2048]);
+
+        assertThat(cache.get(1L, UPDATED)).isNull();
+        assertThat(cache.get(2L, UPDATED)).isNull();
+    }
+
+    @Test
+    @DisplayName("Размерный класс без слэбов забирает слэб с самой давно запрошенной записью другого класса")
+    void put_ReassignsColdestSlab() throws IOException {
+        for (long taskId = 1; taskId <= 4; taskId++) {
+            cache.put(taskId, UPDATED, json("задача " + taskId));
+        }
+        for (long taskId = 5; taskId <= 8; taskId++) {
+            cache.put(taskId, UPDATED, json("задача " + taskId));
+        }
+        read(1L);
+        read(2L);
+        read(3L);
+        read(4L);
+
+        byte[] large = new byte[1000];
+        cache.put(9L, UPDATED, large);
+
+        assertThat(read(9L)).isEqualTo(large);
+        for (long taskId = 1; taskId <= 4; taskId++) {
+            assertThat(read(taskId)).isEqualTo(json("задача " + taskId));
+        }
+        for (long taskId = 5; taskId <= 8; taskId++) {
+            assertThat(cache.get(taskId, UPDATED)).isNull();
+        }
+        assertThat(cache.allocatedBytes()).isEqualTo(2048);
+    }
+
+    @Test
+    @DisplayName("Блок закрепленной записи не переиспользуется до закрытия, даже если запись удалена")
+    void get_PinsEntry() throws IOException {
+        cache.put(1L, UPDATED, json("задача 1"));
+        for (long taskId = 2; taskId <= 8; taskId++) {
+            cache.put(taskId, UPDATED, json("задача " + taskId));
+        }
+
+        TaskResponseCache.CachedJson pinned = cache.get(1L, UPDATED);
+        cache.evict(1L);
+        cache.put(9L, UPDATED, json("задача 9"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pinned.writeTo(outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(json("задача 1"));
+        pinned.close();
+
+        cache.put(10L, UPDATED, json("задача 10"));
+        assertThat(read(10L)).isEqualTo(json("задача 10"));
+    }
+
+    private byte[] read(Long taskId) throws IOException {
+        try (TaskResponseCache.CachedJson cached = cache.get(taskId, UPDATED)) {
+            if (cached == null) {
+                return null;
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            cached.writeTo(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static byte[] json(String header) {
+        return ("{\"header\":\"%s\"}".formatted(header)).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.panov.taskmanagementsystem.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.UserResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Сравнивает форматы ответа списка задач на странице из 1000 задач
+ * (у каждой 2 исполнителя и 3 комментария, статусы и тексты на кириллице):
+ * время сериализации и десериализации JSON, CBOR и Smile.
+ * Размеры страницы в каждом формате печатаются перед запуском замеров.
+ * <p>
+ * Запуск: {@code mvn test-compile}, затем main этого класса с тестовым classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+    private static final TypeReference<List<TaskResponse>> PAGE_TYPE = new TypeReference<>() {
+    };
+    private static final String[] STATUSES = {"В ожидании", "В процессе", "Завершено"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<TaskResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        page = page();
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<TaskResponse> decode() throws IOException {
+        return mapper.readValue(encoded, PAGE_TYPE);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+    }
+
+    private static List<TaskResponse> page() {
+        return LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new TaskResponse(
+                        id,
+                        "Подготовить отчет по задаче №" + id,
+                        "Собрать данные за квартал, согласовать с руководителем и отправить заказчику",
+                        STATUSES[(int) (id % STATUSES.length)],
+                        PRIORITIES[(int) (id % PRIORITIES.length)],
+                        id % 50 + 1,
+                        List.of(new UserResponse(2L, "Иван", "Иванов", "ivanov@mail.ru"),
+                                new UserResponse(3L, "Петр", "Петров", "petrov@mail.ru")),
+                        LongStream.rangeClosed(1, 3)
+                                .mapToObj(n -> new CommentResponse(id * 10 + n,
+                                        "Комментарий к задаче: уточнить сроки выполнения", id, 2L, 0L))
+                                .toList(),
+                        1L))
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        List<TaskResponse> page = page();
+        for (String format : List.of("json", "cbor", "smile")) {
+            System.out.printf("%s: %d bytes%n", format, mapper(format).writeValueAsBytes(page).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(BinaryFormatsBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.panov.taskmanagementsystem.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection connection;
+
+    @Test
+    @DisplayName("Соединений выдается не больше числа разрешений, разрешение возвращается при закрытии")
+    void getConnection_LimitedByPermits() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    @DisplayName("Разрешение возвращается, если пул не выдал соединение")
+    void getConnection_ReleasesPermitOnFailure() throws SQLException {
+        when(targetDataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Вызовы соединения передаются соединению пула")
+    void getConnection_DelegatesCalls() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        try (Connection guarded = dataSource.getConnection()) {
+            assertThat(guarded.getAutoCommit()).isTrue();
+        }
+        assertThat(dataSource.getQueueLength()).isZero();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.panov.taskmanagementsystem.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Конфигурация для подсчета SQL-запросов в тестах.
+ * Оборачивает {@link DataSource} прокси, который считает выполненные запросы
+ * в {@link net.ttddyy.dsproxy.QueryCountHolder} для текущего потока,
+ * включая запросы, выполненные в обход Hibernate.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountConfig {
+    /**
+     * Оборачивает источник данных в прокси, подсчитывающий запросы.
+     *
+     * @return постпроцессор бинов, оборачивающий {@link DataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package ru.panov.taskmanagementsystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Транзакция только для чтения выполняется на реплике, пишущая на основной БД")
+    void getConnection_RoutesReadOnlyToReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        replicaLag(0);
+        dataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        readOnlyTransaction();
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        writeTransaction();
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Реплика, отстающая больше допустимого, не используется для чтения")
+    void getConnection_LaggingReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        replicaLag(5000);
+        dataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        readOnlyTransaction();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.lagMillis("replica-0")).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("Реплика потеряла соединение с основной БД, чтение выполняется на основной БД")
+    void getConnection_DisconnectedReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        ResultSet resultSet = replicaLag(0);
+        dataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        readOnlyTransaction();
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+
+        when(resultSet.wasNull()).thenReturn(true);
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.lagMillis("replica-0")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Реплика не проверялась или недоступна, чтение выполняется на основной БД")
+    void getConnection_UnavailableReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        readOnlyTransaction();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        replicaLag(0);
+        dataSource.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica down"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("После пишущей транзакции пользователь читает с основной БД, остальные с реплики")
+    void getConnection_ReadYourWrites() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        replicaLag(0);
+        dataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        PreparedStatement notify = mock(PreparedStatement.class);
+        when(primaryConnection.prepareStatement(anyString())).thenReturn(notify);
+
+        authenticate("user1@user1.ru");
+        writeTransaction();
+        dataSource.getConnection();
+        readOnlyTransaction();
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        authenticate("user2@user2.ru");
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        verify(notify, times(1)).setString(1, ReplicaRoutingDataSource.CHANNEL);
+        verify(notify, times(1)).setString(2, "user1@user1.ru");
+        verify(notify, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Отметка о записи с другого экземпляра: пользователь читает с основной БД")
+    void getConnection_ReadYourWritesFromOtherInstance() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        replicaLag(0);
+        dataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        new ReplicaStickinessHandler(dataSource).onNotification("user1@user1.ru");
+
+        authenticate("user1@user1.ru");
+        readOnlyTransaction();
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        authenticate("user2@user2.ru");
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    @DisplayName("Соединение с учетными данными запрашивается у основной БД")
+    void getConnection_WithCredentials() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+        when(primary.getConnection("username", "password")).thenReturn(primaryConnection);
+        readOnlyTransaction();
+
+        assertThat(dataSource.getConnection("username", "password")).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+    }
+
+    private ReplicaRoutingDataSource routing(Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, Duration.ofMinutes(1));
+    }
+
+    private ResultSet replicaLag(long lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+        return resultSet;
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static void writeTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "USER"));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.panov.taskmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.panov.taskmanagementsystem.util.PathConstants.*;
+
+/**
+ * Нагрузочный тест: задержка чтения списка задач (p99) без входов в систему
+ * и во время одновременного потока входов, хеширование паролей в котором
+ * ограничено {@link ru.panov.taskmanagementsystem.security.PasswordHashingExecutor}.
+ */
+@SpringBootTest(classes = TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"auth.hashing.queue-capacity=8", "auth.hashing.queue-timeout=2s"})
+class LoginFloodLoadTest {
+    private static final int READERS = 4;
+    private static final int LOGIN_FLOOD = 64;
+    private static final long PHASE_MILLIS = 5000;
+    private static final String LOGIN_BODY = """
+            {"email":"user1@user1.ru","password":"user1"}""";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final AtomicLong failedReads = new AtomicLong();
+
+    @Test
+    @DisplayName("Поток входов в систему не увеличивает p99 чтения задач, лишние входы отклоняются с 503")
+    void tasksLatencyDuringLoginFlood() throws Exception {
+        String token = objectMapper.readTree(send(login()).body()).get("token").asText();
+        HttpRequest tasks = HttpRequest.newBuilder(uri(TASKS_PATH + "?limit=10"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .GET()
+                .build();
+        run(tasks, 0, new ConcurrentHashMap<>());
+
+        long quietP99 = run(tasks, 0, new ConcurrentHashMap<>());
+        Map<Integer, AtomicLong> loginStatuses = new ConcurrentHashMap<>();
+        long floodP99 = run(tasks, LOGIN_FLOOD, loginStatuses);
+
+        System.out.printf("p99 GET %s: без входов %d мс, при потоке входов %d мс, ответы на вход %s%n",
+                TASKS_PATH, quietP99, floodP99, loginStatuses);
+        assertThat(failedReads).hasValue(0);
+        assertThat(loginStatuses).containsKeys(HttpStatus.OK.value(), HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(floodP99).isLessThan(Math.max(1000, quietP99 * 5));
+    }
+
+    private long run(HttpRequest tasks, int loginThreads, Map<Integer, AtomicLong> loginStatuses)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PHASE_MILLIS);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < loginThreads; i++) {
+            threads.add(new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpResponse<String> response = send(login());
+                    loginStatuses.computeIfAbsent(response.statusCode(), key -> new AtomicLong()).incrementAndGet();
+                    response.headers().firstValueAsLong(HttpHeaders.RETRY_AFTER)
+                            .ifPresent(seconds -> pause(TimeUnit.SECONDS.toMillis(seconds)));
+                }
+            }));
+        }
+        for (int i = 0; i < READERS; i++) {
+            threads.add(new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    if (send(tasks).statusCode() != HttpStatus.OK.value()) {
+                        failedReads.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * 0.99)]);
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest login() {
+        return HttpRequest.newBuilder(uri(AUTH_PATH + LOGIN_PATH))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
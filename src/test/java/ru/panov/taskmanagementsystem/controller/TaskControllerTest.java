@@ -1,6 +1,8 @@
 package ru.panov.taskmanagementsystem.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +10,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
 
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static ru.panov.taskmanagementsystem.util.PathConstants.TASKS_PATH;
 
@@ -26,6 +39,8 @@ class TaskControllerTest {
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     @WithUserDetails(value = "user1@user1.ru")
@@ -96,4 +111,244 @@ class TaskControllerTest {
                                      "Минимальная длина description должна составлять 5 символов."   ]
                                 }"""));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Список задач не изменился, ответ 304 по If-None-Match")
+    void getAll_NotModified() throws Exception {
+        insertTask("Задача для условного запроса");
+        String etag = mockMvc.perform(get(TASKS_PATH))
+                .andExpectAll(status().isOk(),
+                        header().exists(HttpHeaders.ETAG),
+                        header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(TASKS_PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpectAll(status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, etag),
+                        content().string(""));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Комментарий добавлен, ETag комментариев и списка задач меняется")
+    void getComments_ModifiedAfterNewComment() throws Exception {
+        Long taskId = insertTask("Задача с комментариями");
+        String commentsEtag = mockMvc.perform(get(TASKS_PATH + "/{task_id}/comments", taskId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String tasksEtag = mockMvc.perform(get(TASKS_PATH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("insert into dbo.coments(comment, task_id, author_id) values ('Новый', ?, 2)", taskId);
+
+        mockMvc.perform(get(TASKS_PATH + "/{task_id}/comments", taskId)
+                        .header(HttpHeaders.IF_NONE_MATCH, commentsEtag))
+                .andExpectAll(status().isOk(),
+                        content().json("""
+                                [{"comment": "Новый", "taskId": %s}]""".formatted(taskId)));
+        mockMvc.perform(get(TASKS_PATH).header(HttpHeaders.IF_NONE_MATCH, tasksEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Статус переименован, ETag списка задач меняется без изменения самих задач")
+    void getAll_ModifiedAfterStatusRename() throws Exception {
+        insertTask("Задача со статусом для переименования");
+        String tasksEtag = mockMvc.perform(get(TASKS_PATH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("update dbo.statuses set status = 'Ожидает', updated = now() + interval '1 second' " +
+                "where id = 1");
+
+        mockMvc.perform(get(TASKS_PATH).header(HttpHeaders.IF_NONE_MATCH, tasksEtag))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].status").value("Ожидает"));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Статус переименован, задача из кэша представлений отдается с новым названием статуса")
+    void getTask_ModifiedAfterStatusRename() throws Exception {
+        Long taskId = insertTask("Задача в кэше со статусом для переименования");
+        mockMvc.perform(get(TASKS_PATH + "/{task_id}", taskId))
+                .andExpect(jsonPath("$.status").value("В ожидании"));
+        mockMvc.perform(get(TASKS_PATH + "/{task_id}", taskId))
+                .andExpect(jsonPath("$.status").value("В ожидании"));
+
+        jdbcTemplate.update("update dbo.statuses set status = 'Ожидает', updated = now() + interval '1 second' " +
+                "where id = 1");
+
+        mockMvc.perform(get(TASKS_PATH + "/{task_id}", taskId))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.status").value("Ожидает"));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Список задач с выбором полей содержит только запрошенные поля")
+    void getAll_SparseFields() throws Exception {
+        Long taskId = insertTask("Задача для выбора полей");
+
+        mockMvc.perform(get(TASKS_PATH).param("header", "выбора полей").param("fields", "header,priority"))
+                .andExpectAll(status().isOk(),
+                        content().json("""
+                                [{"taskId": %s, "header": "Задача для выбора полей", "priority": "LOW"}]"""
+                                .formatted(taskId), true));
+        mockMvc.perform(get(TASKS_PATH).param("header", "выбора полей").param("include", "comments"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].description").value("Описание задачи"),
+                        jsonPath("$[0].comments").isEmpty(),
+                        jsonPath("$[0].performers").doesNotExist());
+        mockMvc.perform(get(TASKS_PATH).param("fields", "password"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Список задач в формате CBOR по заголовку Accept")
+    void getAll_Cbor() throws Exception {
+        Long taskId = insertTask("Задача в формате CBOR");
+
+        byte[] body = mockMvc.perform(get(TASKS_PATH).param("header", "формате CBOR")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpectAll(status().isOk(),
+                        content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<TaskResponse> tasks = new CBORMapper().readValue(body, new TypeReference<>() {
+        });
+        assertThat(tasks).extracting(TaskResponse::taskId, TaskResponse::status)
+                .containsExactly(tuple(taskId, "В ожидании"));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Список задач по курсору, limit меньше 1, ответ 400")
+    void getAll_CursorLimitLessThanOne() throws Exception {
+        mockMvc.perform(get(TASKS_PATH).param("cursor", "").param("limit", "0"))
+                .andExpectAll(status().isBadRequest(),
+                        content().json("""
+                                {
+                                "errors": ["limit не может быть меньше 1."]
+                                }"""));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("ETag списка задач зависит от формата ответа, ответ содержит Vary: Accept")
+    void getAll_EtagPerMediaType() throws Exception {
+        insertTask("Задача с ETag по формату");
+
+        String jsonEtag = mockMvc.perform(get(TASKS_PATH).accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(),
+                        header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborEtag = mockMvc.perform(get(TASKS_PATH).accept(MediaType.APPLICATION_CBOR))
+                .andExpectAll(status().isOk(),
+                        content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+        mockMvc.perform(get(TASKS_PATH).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(TASKS_PATH).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpectAll(status().isNotModified(),
+                        header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Обновление задачи по If-Match, устаревшая версия отклоняется со статусом 409")
+    void updateTask_IfMatchConflict() throws Exception {
+        Long taskId = insertTask("Задача для условного обновления");
+        String body = """
+                {
+                    "header": "Задача для условного обновления",
+                    "description": "Обновленное описание",
+                    "statusId": 2,
+                    "priority": 2
+                }""";
+
+        mockMvc.perform(put(TASKS_PATH + "/{task_id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(body))
+                .andExpectAll(status().isNoContent(),
+                        header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put(TASKS_PATH + "/{task_id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(body))
+                .andExpectAll(status().isConflict(),
+                        jsonPath("$.detail").value(
+                                "Задача с id:%s изменена другим запросом: версия 1, ожидалась 0".formatted(taskId)));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Обновление задачи с 2000 исполнителей, уведомление о событии не зависит от их количества")
+    void updateTask_ManyPerformers() throws Exception {
+        Long taskId = insertTask("Задача с большим числом исполнителей");
+        jdbcTemplate.update("""
+                insert into dbo.users(email, first_name, last_name, password)
+                select 'performer' || n || '@mail.ru', 'Имя', 'Фамилия', 'password'
+                from generate_series(1, 2000) n""");
+        jdbcTemplate.update("""
+                insert into dbo.tasks_performers(task_id, performer_id)
+                select ?, u.id from dbo.users u where u.email like 'performer%@mail.ru'""", taskId);
+
+        mockMvc.perform(put(TASKS_PATH + "/{task_id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "header": "Задача с большим числом исполнителей",
+                                    "description": "Обновленное описание",
+                                    "statusId": 2,
+                                    "priority": 2
+                                }"""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Снятие больше 1000 исполнителей за один запрос отклоняется")
+    void unassignPerformers_TooMany() throws Exception {
+        Long taskId = insertTask("Задача для снятия исполнителей");
+        String[] performerIds = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).toArray(String[]::new);
+
+        mockMvc.perform(delete(TASKS_PATH + "/{task_id}/performers", taskId).param("performer_id", performerIds))
+                .andExpectAll(status().isBadRequest(),
+                        jsonPath("$.errors[0]").value("За один запрос можно изменить не больше 1000 исполнителей."));
+    }
+
+    @Test
+    @WithUserDetails(value = "user1@user1.ru")
+    @DisplayName("Импорт задач: спецсимволы в заголовке сохраняются, занятые заголовки возвращаются ошибками")
+    void importTasks_ExistingHeaders() throws Exception {
+        insertTask("Импорт: занятый заголовок");
+        String body = """
+                {"header":"Импорт:\\tтабуляция \\\\ и\\nперевод строки","description":"Описание задачи","statusId":1,"priority":1}
+                {"header":"Импорт: занятый заголовок","description":"Описание задачи","statusId":1,"priority":1}
+                {"header":"Импорт: новая задача","description":"Описание задачи","statusId":1,"priority":2}""";
+
+        mockMvc.perform(post(TASKS_PATH + "/import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.imported").value(2),
+                        jsonPath("$.errors[0].line").value(2),
+                        jsonPath("$.errors[0].message").value("Задача с заголовком: Импорт: занятый заголовок уже существует"));
+        mockMvc.perform(post(TASKS_PATH + "/import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.imported").value(0),
+                        jsonPath("$.errors.length()").value(3));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from dbo.tasks where header = ?", Long.class,
+                "Импорт:\tтабуляция \\ и\nперевод строки")).isEqualTo(1);
+    }
+
+    private Long insertTask(String header) {
+        return jdbcTemplate.queryForObject("""
+                insert into dbo.tasks(status_id, user_id, header, description, priority)
+                values (1, 2, ?, 'Описание задачи', 'LOW')
+                returning id""", Long.class, header);
+    }
+}
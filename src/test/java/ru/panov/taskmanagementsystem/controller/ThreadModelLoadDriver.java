@@ -0,0 +1,159 @@
+package ru.panov.taskmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import ru.panov.taskmanagementsystem.TaskManagementApplication;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.panov.taskmanagementsystem.util.PathConstants.*;
+
+/**
+ * Нагрузочный драйвер для сравнения моделей потоков: {@code GET /tasks?limit=10} от N одновременных
+ * клиентов на виртуальных потоках в течение {@value #PHASE_MILLIS} мс для каждого N и режима приложения:
+ * платформенные потоки Tomcat, виртуальные потоки без ограничителя доступа к БД и виртуальные потоки
+ * с ограничителем ({@link ru.panov.taskmanagementsystem.config.BulkheadDataSource}).
+ * Для каждого режима печатает p50, p99, пропускную способность и число неуспешных ответов.
+ * <p>
+ * В отличие от {@link LoginFloodLoadTest}, не запускается в {@code mvn test}: один прогон занимает
+ * несколько минут, а результат зависит от числа ядер, общих с PostgreSQL. Нужен Docker
+ * (PostgreSQL из Testcontainers, {@link TestConfig}).
+ * Запуск: {@code mvn test-compile}, затем main этого класса с тестовым classpath;
+ * аргументы — значения N через пробел (по умолчанию 100 1000 3000).
+ * <p>
+ * Пропускная способность на машине, где CPU делится с PostgreSQL, ограничена процессором, а не числом
+ * потоков, поэтому задержка при N клиентах не опускается ниже N / rps (закон Литтла). При N=3000 и
+ * 120-300 rps это 10-25 с в любом режиме: ограничитель лишь упорядочивает ожидание соединения и не дает
+ * запросам падать по таймауту пула, но не сокращает очередь, поэтому на этом уровне p99 с ним такой же,
+ * как на платформенных потоках.
+ */
+public class ThreadModelLoadDriver {
+    private static final long PHASE_MILLIS = 20_000;
+    private static final int[] DEFAULT_CLIENTS = {100, 1000, 3000};
+    private static final String LOGIN_BODY = """
+            {"email":"user1@user1.ru","password":"user1"}""";
+
+    private enum Mode {
+        PLATFORM("platform threads", "--spring.threads.virtual.enabled=false", "--db.bulkhead.enabled=false"),
+        VIRTUAL("virtual, no bulkhead", "--spring.threads.virtual.enabled=true", "--db.bulkhead.enabled=false"),
+        VIRTUAL_BULKHEAD("virtual + bulkhead", "--spring.threads.virtual.enabled=true", "--db.bulkhead.enabled=true");
+
+        private final String title;
+        private final String[] args;
+
+        Mode(String title, String... args) {
+            this.title = title;
+            this.args = args;
+        }
+    }
+
+    private record Result(long p50, long p99, double rps, long failed) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int[] clients = args.length == 0 ? DEFAULT_CLIENTS : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        new ThreadModelLoadDriver().run(clients);
+    }
+
+    private void run(int[] clients) throws Exception {
+        List<String> rows = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            StringBuilder row = new StringBuilder(String.format("%-22s", mode.title));
+            try (ConfigurableApplicationContext context = start(mode)) {
+                URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                HttpRequest tasks = HttpRequest.newBuilder(base.resolve(TASKS_PATH + "?limit=10"))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(base))
+                        .GET()
+                        .build();
+                measure(tasks, clients[0]);
+                for (int n : clients) {
+                    Result result = measure(tasks, n);
+                    row.append(String.format("  N=%-5d p50 %5d мс  p99 %5d мс  %6.1f rps  ошибок %d",
+                            n, result.p50(), result.p99(), result.rps(), result.failed()));
+                }
+            }
+            rows.add(row.toString());
+        }
+        System.out.printf("GET %s?limit=10, %d мс на каждое N, ядер: %d%n",
+                TASKS_PATH, PHASE_MILLIS, Runtime.getRuntime().availableProcessors());
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(Mode mode) {
+        String[] args = Arrays.copyOf(mode.args, mode.args.length + 1);
+        args[mode.args.length] = "--server.port=0";
+        return SpringApplication.from(TaskManagementApplication::main)
+                .with(TestConfig.class)
+                .run(args)
+                .getApplicationContext();
+    }
+
+    private String token(URI base) throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(base.resolve(AUTH_PATH + LOGIN_PATH))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+        String body = httpClient.send(login, HttpResponse.BodyHandlers.ofString()).body();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private Result measure(HttpRequest tasks, int clients) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(PHASE_MILLIS);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong failed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    long requestStart = System.nanoTime();
+                    if (!succeeded(tasks)) {
+                        failed.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - requestStart);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(percentile(sorted, 0.5), percentile(sorted, 0.99), sorted.length / seconds, failed.get());
+    }
+
+    private boolean succeeded(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()
+                    == HttpStatus.OK.value();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * quantile)]);
+    }
+}
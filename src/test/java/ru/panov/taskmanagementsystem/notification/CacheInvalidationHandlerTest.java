@@ -0,0 +1,62 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.panov.taskmanagementsystem.config.CacheConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationHandlerTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheManager cacheManager;
+    private CacheInvalidationHandler cacheInvalidationHandler;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.STATUSES_CACHE, CacheConfig.USERS_CACHE);
+        cacheInvalidationHandler = new CacheInvalidationHandler(cacheManager, jdbcTemplate);
+        cacheManager.getCache(CacheConfig.STATUSES_CACHE).put(1L, "В ожидании");
+        cacheManager.getCache(CacheConfig.STATUSES_CACHE).put(2L, "В процессе");
+        cacheManager.getCache(CacheConfig.USERS_CACHE).put(1L, "user1@user1.ru");
+    }
+
+    @Test
+    @DisplayName("Публикация инвалидации отправляет уведомление с именем кэша и ключом")
+    void publish_SendsNotification() {
+        cacheInvalidationHandler.publish(CacheConfig.STATUSES_CACHE, 1L);
+
+        verify(jdbcTemplate, times(1)).queryForList("select pg_notify(?, ?)",
+                CacheInvalidationHandler.CHANNEL, "statuses:1");
+    }
+
+    @Test
+    @DisplayName("Уведомление удаляет из кэша только указанную запись")
+    void onNotification_EvictsEntry() {
+        cacheInvalidationHandler.onNotification("statuses:1");
+
+        assertThat(cacheManager.getCache(CacheConfig.STATUSES_CACHE).get(1L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.STATUSES_CACHE).get(2L)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("После переподключения все кэши очищаются")
+    void onReconnect_ClearsAllCaches() {
+        cacheInvalidationHandler.onReconnect();
+
+        assertThat(cacheManager.getCache(CacheConfig.STATUSES_CACHE).get(2L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L)).isNull();
+    }
+}
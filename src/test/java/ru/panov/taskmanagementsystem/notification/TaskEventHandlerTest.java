@@ -0,0 +1,99 @@
+package ru.panov.taskmanagementsystem.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventHandlerTest {
+    private static final int NOTIFY_PAYLOAD_LIMIT = 8000;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TaskEventSubscriptions taskEventSubscriptions;
+    @Mock
+    private TaskMembershipIndex taskMembershipIndex;
+
+    private TaskEventHandler taskEventHandler;
+
+    @BeforeEach
+    void setUp() {
+        taskEventHandler = new TaskEventHandler(jdbcTemplate, new ObjectMapper(), taskEventSubscriptions,
+                taskMembershipIndex);
+    }
+
+    @Test
+    @DisplayName("Публикация отправляет уведомление только с событием, без получателей")
+    void publish_SendsNotification() {
+        taskEventHandler.publish(TaskEventType.COMMENT_ADDED, 10L, 5L);
+
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(TaskEventHandler.CHANNEL),
+                eq("{\"type\":\"COMMENT_ADDED\",\"taskId\":10,\"commentId\":5}"));
+    }
+
+    @Test
+    @DisplayName("Уведомление доставляется подписчикам, которые являются участниками задачи")
+    void onNotification_SendsToMembers() {
+        when(taskMembershipIndex.isMember(10L, 1L)).thenReturn(true);
+        when(taskMembershipIndex.isMember(10L, 3L)).thenReturn(false);
+
+        taskEventHandler.onNotification("""
+                {"type":"STATUS_CHANGED","taskId":10}""");
+
+        ArgumentCaptor<Predicate<Long>> recipient = ArgumentCaptor.captor();
+        verify(taskEventSubscriptions, times(1))
+                .send(eq(new TaskEvent(TaskEventType.STATUS_CHANGED, 10L, null)), recipient.capture());
+        assertThat(recipient.getValue().test(1L)).isTrue();
+        assertThat(recipient.getValue().test(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Задача с 5000 исполнителей: уведомление не превышает лимит NOTIFY, исполнитель получает событие")
+    void publish_LargePerformerSet() {
+        when(taskMembershipIndex.isMember(eq(10L), anyLong())).thenAnswer(invocation ->
+                invocation.<Long>getArgument(1) <= 5000);
+
+        taskEventHandler.publish(TaskEventType.PERFORMER_ADDED, 10L);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(TaskEventHandler.CHANNEL), payload.capture());
+        assertThat(payload.getValue().getBytes(StandardCharsets.UTF_8)).hasSizeLessThan(NOTIFY_PAYLOAD_LIMIT);
+
+        taskEventHandler.onNotification(payload.getValue());
+
+        ArgumentCaptor<Predicate<Long>> recipient = ArgumentCaptor.captor();
+        verify(taskEventSubscriptions, times(1))
+                .send(eq(new TaskEvent(TaskEventType.PERFORMER_ADDED, 10L, null)), recipient.capture());
+        assertThat(recipient.getValue().test(4999L)).isTrue();
+        assertThat(recipient.getValue().test(5001L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("После переподключения всем подписчикам отправляется событие RESYNC")
+    void onReconnect_SendsResync() {
+        taskEventHandler.onReconnect();
+
+        verify(taskEventSubscriptions, times(1)).sendAll(new TaskEvent(TaskEventType.RESYNC, null, null));
+    }
+}
@@ -0,0 +1,181 @@
+package ru.panov.taskmanagementsystem.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.model.Role;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.security.JwtService;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.panov.taskmanagementsystem.controller.TaskController.NEXT_CURSOR_HEADER;
+import static ru.panov.taskmanagementsystem.util.PathConstants.TASKS_PATH;
+
+@SpringBootTest(classes = {ReactiveReadApplication.class, TestConfig.class,
+        ReactiveTaskControllerTest.SchemaConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+class ReactiveTaskControllerTest {
+    private static final String HEADER_PREFIX = "Реактивная задача";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long firstTaskId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("""
+                            insert into dbo.tasks(status_id, user_id, header, description, priority, created)
+                            values (1, 1, ?, ?, 'HIGH', ?)""",
+                    HEADER_PREFIX + " " + i, "Описание " + i, created.plusMinutes(i));
+        }
+        firstTaskId = jdbcTemplate.queryForObject("select id from dbo.tasks where header = ?", Long.class,
+                HEADER_PREFIX + " 1");
+        jdbcTemplate.update("insert into dbo.tasks_performers(task_id, performer_id) values (?, 2)", firstTaskId);
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("insert into dbo.coments(comment, task_id, author_id) values (?, ?, 2)",
+                    "Комментарий " + i, firstTaskId);
+        }
+        User user = User.builder()
+                .email("admin@admin.ru")
+                .roles(Set.of(Role.ADMIN))
+                .build();
+        user.setId(1L);
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from dbo.coments where task_id = ?", firstTaskId);
+        jdbcTemplate.update("delete from dbo.tasks_performers where task_id = ?", firstTaskId);
+        jdbcTemplate.update("delete from dbo.tasks where header like ?", HEADER_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Список задач с фильтром по заголовку, сортировка по убыванию даты создания")
+    void getAll_FilteredByHeader() {
+        List<TaskResponse> tasks = webTestClient.get()
+                .uri(TASKS_PATH + "?header={header}", HEADER_PREFIX)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(tasks).extracting(TaskResponse::header)
+                .containsExactly(HEADER_PREFIX + " 3", HEADER_PREFIX + " 2", HEADER_PREFIX + " 1");
+        TaskResponse first = tasks.get(2);
+        assertThat(first.status()).isEqualTo("В ожидании");
+        assertThat(first.performers()).extracting("id").containsExactly(2L);
+        assertThat(first.comments()).extracting(CommentResponse::comment)
+                .containsExactly("Комментарий 1", "Комментарий 2", "Комментарий 3");
+    }
+
+    @Test
+    @DisplayName("Keyset-пагинация, курсор следующей страницы в заголовке")
+    void getAll_Cursor() {
+        String nextCursor = webTestClient.get()
+                .uri(TASKS_PATH + "?header={header}&cursor=&limit=2", HEADER_PREFIX)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(NEXT_CURSOR_HEADER)
+                .expectBodyList(TaskResponse.class).hasSize(2)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(NEXT_CURSOR_HEADER);
+
+        webTestClient.get()
+                .uri(TASKS_PATH + "?header={header}&cursor={cursor}&limit=2", HEADER_PREFIX, nextCursor)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(NEXT_CURSOR_HEADER)
+                .expectBodyList(TaskResponse.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskResponse::header)
+                        .containsExactly(HEADER_PREFIX + " 1"));
+    }
+
+    @Test
+    @DisplayName("Список задач потоком NDJSON")
+    void getAll_Ndjson() {
+        webTestClient.get()
+                .uri(TASKS_PATH + "?header={header}&limit=2", HEADER_PREFIX)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TaskResponse.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskResponse::header)
+                        .containsExactly(HEADER_PREFIX + " 3", HEADER_PREFIX + " 2"));
+    }
+
+    @Test
+    @DisplayName("Комментарии к задаче с пагинацией")
+    void getAllCommentsByTask() {
+        webTestClient.get()
+                .uri(TASKS_PATH + "/{taskId}/comments?offset=1&limit=2", firstTaskId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CommentResponse.class)
+                .value(comments -> assertThat(comments).extracting(CommentResponse::comment)
+                        .containsExactly("Комментарий 3"));
+    }
+
+    @Test
+    @DisplayName("Запрос без токена отклоняется")
+    void getAll_Unauthorized() {
+        webTestClient.get()
+                .uri(TASKS_PATH)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    /**
+     * Реактивное приложение работает без JDBC, поэтому для создания схемы Liquibase
+     * и подготовки данных тесту нужен отдельный {@link DataSource}.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SchemaConfig {
+        @Bean
+        DataSource dataSource(JdbcConnectionDetails connectionDetails) {
+            return DataSourceBuilder.create()
+                    .url(connectionDetails.getJdbcUrl())
+                    .username(connectionDetails.getUsername())
+                    .password(connectionDetails.getPassword())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.panov.taskmanagementsystem.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+    @Test
+    @DisplayName("Хеш с другой сложностью, выше или ниже текущей, требует перекодирования")
+    void upgradeEncoding_DifferentStrength() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(6);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("user1"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("user1"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("user1"))).isFalse();
+        assertThat(encoder.upgradeEncoding(
+                "$2y$10$uYKDPtCgIjSi6EXxRdn8oOa9H2ji64RBC651PpREeAadIXLJhdoie")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Пароль, закодированный с другой сложностью, по-прежнему проверяется")
+    void matches_DifferentStrength() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertThat(encoder.matches("user1", new BCryptPasswordEncoder(6).encode("user1"))).isTrue();
+        assertThat(encoder.matches("user2", new BCryptPasswordEncoder(6).encode("user1"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Сложность подбирается под время хеширования")
+    void calibrate_TargetDuration() {
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrate(Duration.ZERO))
+                .isEqualTo(AdaptiveBCryptPasswordEncoder.MIN_STRENGTH);
+
+        AdaptiveBCryptPasswordEncoder encoder = AdaptiveBCryptPasswordEncoder.calibrated(Duration.ofMillis(50));
+
+        assertThat(encoder.getStrength()).isBetween(AdaptiveBCryptPasswordEncoder.MIN_STRENGTH + 1,
+                AdaptiveBCryptPasswordEncoder.MAX_STRENGTH);
+        assertThat(encoder.getHashDuration()).isBetween(Duration.ofMillis(15), Duration.ofMillis(200));
+    }
+}
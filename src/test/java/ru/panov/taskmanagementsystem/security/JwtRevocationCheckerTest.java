@@ -0,0 +1,64 @@
+package ru.panov.taskmanagementsystem.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.panov.taskmanagementsystem.model.Role;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.reposirory.UserRepository;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRevocationCheckerTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Проверка отключена, БД не запрашивается")
+    void isRevoked_Disabled() {
+        JwtRevocationChecker checker = new JwtRevocationChecker(userRepository, Duration.ZERO);
+
+        assertThat(checker.isRevoked(principal(1L, Role.USER))).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Состояние пользователя берется из памяти в течение TTL")
+    void isRevoked_CachedWithinTtl() {
+        when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(principal(1L, Role.USER)));
+        JwtRevocationChecker checker = new JwtRevocationChecker(userRepository, Duration.ofMinutes(1));
+
+        assertThat(checker.isRevoked(principal(1L, Role.USER))).isFalse();
+        assertThat(checker.isRevoked(principal(1L, Role.USER))).isFalse();
+        verify(userRepository, times(1)).findWithRolesById(1L);
+    }
+
+    @Test
+    @DisplayName("Токен удаленного пользователя или пользователя с измененными ролями отозван")
+    void isRevoked_DeletedOrRolesChanged() {
+        when(userRepository.findWithRolesById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesById(2L)).thenReturn(Optional.of(principal(2L, Role.USER)));
+        JwtRevocationChecker checker = new JwtRevocationChecker(userRepository, Duration.ofMinutes(1));
+
+        assertThat(checker.isRevoked(principal(1L, Role.USER))).isTrue();
+        assertThat(checker.isRevoked(principal(2L, Role.USER, Role.ADMIN))).isTrue();
+    }
+
+    private static User principal(Long id, Role... roles) {
+        User user = User.builder()
+                .email("user%s@mail.ru".formatted(id))
+                .roles(new HashSet<>(Set.of(roles)))
+                .build();
+        user.setId(id);
+        return user;
+    }
+}
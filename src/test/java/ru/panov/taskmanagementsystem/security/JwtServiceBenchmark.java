@@ -0,0 +1,94 @@
+package ru.panov.taskmanagementsystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.panov.taskmanagementsystem.model.Role;
+import ru.panov.taskmanagementsystem.model.User;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Сравнивает затраты CPU на проверку JWT одного запроса:
+ * прежняя схема (ключ и парсер создаются заново, токен разбирается три раза),
+ * однократный разбор закэшированным парсером и попадание в кэш проверенных токенов.
+ * <p>
+ * Запуск: {@code mvn test-compile}, затем main этого класса с тестовым classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "bc2dfaba0bf4d1ae1b36f9e03f364c6f02cee9698315d2ed866b36e6abf70e03";
+
+    private JwtService uncachedJwtService;
+    private JwtService cachedJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedJwtService = new JwtService(SECRET, 3_600_000, 0);
+        cachedJwtService = new JwtService(SECRET, 3_600_000, 10_000);
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .roles(Set.of(Role.USER))
+                .build();
+        user.setId(2L);
+        token = cachedJwtService.generateToken(user);
+        cachedJwtService.extractPrincipal(token);
+    }
+
+    @Benchmark
+    public boolean keyAndParserPerCallParsedThreeTimes() {
+        String email = extractClaim(token, Claims::getSubject);
+        boolean valid = extractClaim(token, Claims::getSubject).equals(email)
+                && !extractClaim(token, Claims::getExpiration).before(new Date());
+        return valid;
+    }
+
+    @Benchmark
+    public User cachedParserSingleParse() {
+        return uncachedJwtService.extractPrincipal(token);
+    }
+
+    @Benchmark
+    public User verifiedTokenCacheHit() {
+        return cachedJwtService.extractPrincipal(token);
+    }
+
+    private static <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return claimsResolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
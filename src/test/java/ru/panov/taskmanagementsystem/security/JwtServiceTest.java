@@ -0,0 +1,109 @@
+package ru.panov.taskmanagementsystem.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.panov.taskmanagementsystem.model.Role;
+import ru.panov.taskmanagementsystem.model.User;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    private static final String SECRET = "bc2dfaba0bf4d1ae1b36f9e03f364c6f02cee9698315d2ed866b36e6abf70e03";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000, 100);
+    }
+
+    @Test
+    @DisplayName("Принципал восстанавливается из требований токена без обращения к БД")
+    void extractPrincipal_FromClaims() {
+        User user = User.builder()
+                .email("admin@admin.ru")
+                .password("пароль")
+                .roles(Set.of(Role.ADMIN, Role.USER))
+                .build();
+        user.setId(7L);
+
+        User principal = jwtService.extractPrincipal(jwtService.generateToken(user));
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("admin@admin.ru");
+        assertThat(principal.getRoles()).containsExactlyInAnyOrder(Role.ADMIN, Role.USER);
+        assertThat(principal.getPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("Токен без ID пользователя отклоняется")
+    void extractPrincipal_WithoutId() {
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .roles(Set.of(Role.USER))
+                .build();
+
+        String token = jwtService.generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.extractPrincipal(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Просроченный токен отклоняется")
+    void extractPrincipal_Expired() {
+        jwtService = new JwtService(SECRET, -1000, 100);
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .roles(Set.of(Role.USER))
+                .build();
+        user.setId(2L);
+
+        String token = jwtService.generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.extractPrincipal(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Повторная проверка токена возвращает новый экземпляр принципала из кэша")
+    void extractPrincipal_Cached() {
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .roles(Set.of(Role.USER))
+                .build();
+        user.setId(2L);
+        String token = jwtService.generateToken(user);
+
+        User first = jwtService.extractPrincipal(token);
+        first.getRoles().add(Role.ADMIN);
+        User second = jwtService.extractPrincipal(token);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(second.getRoles()).containsExactly(Role.USER);
+    }
+
+    @Test
+    @DisplayName("Проверенный токен не используется из кэша после истечения срока действия")
+    void extractPrincipal_CachedUntilExpiration() throws InterruptedException {
+        jwtService = new JwtService(SECRET, 2000, 100);
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .roles(Set.of(Role.USER))
+                .build();
+        user.setId(2L);
+        String token = jwtService.generateToken(user);
+
+        assertThat(jwtService.extractPrincipal(token).getId()).isEqualTo(2L);
+        Thread.sleep(2100);
+
+        assertThatThrownBy(() -> jwtService.extractPrincipal(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
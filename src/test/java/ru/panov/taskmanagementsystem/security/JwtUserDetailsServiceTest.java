@@ -0,0 +1,40 @@
+package ru.panov.taskmanagementsystem.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.panov.taskmanagementsystem.config.CacheConfig;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.notification.CacheInvalidationHandler;
+import ru.panov.taskmanagementsystem.reposirory.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtUserDetailsServiceTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CacheInvalidationHandler cacheInvalidationHandler;
+    @InjectMocks
+    private JwtUserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("Перекодированный пароль сохраняется, пользователь удаляется из кэша на всех экземплярах")
+    void updatePassword_EvictsCachedUser() {
+        User user = User.builder()
+                .email("user1@user1.ru")
+                .password("old-hash")
+                .build();
+        user.setId(2L);
+
+        assertThat(userDetailsService.updatePassword(user, "new-hash").getPassword()).isEqualTo("new-hash");
+
+        verify(userRepository, times(1)).updatePassword("user1@user1.ru", "new-hash");
+        verify(cacheInvalidationHandler, times(1)).publish(CacheConfig.USERS_CACHE, 2L);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.panov.taskmanagementsystem.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.exception.PasswordHashingRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Результат и исключения задачи передаются вызывающему потоку")
+    void execute_ReturnsResultAndPropagatesException() {
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        assertThat(executor.execute(() -> "hash")).isEqualTo("hash");
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new InputDataConflictException("Неправильное имя пользователя или пароль");
+        })).isInstanceOf(InputDataConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Задача отклоняется сразу, если очередь заполнена")
+    void execute_QueueFull() throws InterruptedException {
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return await(release);
+        }));
+        started.await();
+        CompletableFuture.runAsync(() -> executor.execute(() -> "queued"));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    @Test
+    @DisplayName("Задача, не начатая за время ожидания, отклоняется и не выполняется")
+    void execute_QueueTimeout() throws InterruptedException {
+        executor = new PasswordHashingExecutor(1, 10, Duration.ofMillis(100), new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return await(release);
+        }));
+        started.await();
+        AtomicBoolean executed = new AtomicBoolean();
+
+        assertThatThrownBy(() -> executor.execute(() -> executed.getAndSet(true)))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        release.countDown();
+        assertThat(executor.execute(() -> "next")).isEqualTo("next");
+        assertThat(executed).isFalse();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -9,18 +9,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.cache.TaskResponseCache;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.mapper.CommentMapper;
 import ru.panov.taskmanagementsystem.model.Comment;
 import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
 import ru.panov.taskmanagementsystem.model.User;
 import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.notification.TaskEventHandler;
 import ru.panov.taskmanagementsystem.reposirory.CommentRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
 import ru.panov.taskmanagementsystem.service.TaskService;
 import ru.panov.taskmanagementsystem.service.UserService;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +40,8 @@ class CommentServiceImplTest {
     private CommentServiceImpl commentService;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private TaskRepository taskRepository;
 
     @Mock
     private UserService userService;
@@ -43,6 +51,12 @@ class CommentServiceImplTest {
 
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private TaskEventHandler taskEventHandler;
+    @Mock
+    private TaskResponseCache taskResponseCache;
+    @Mock
+    private TaskMembershipIndex taskMembershipIndex;
 
     @Test
     @DisplayName("Добавление коментаря к задаче, успешно")
@@ -54,20 +68,95 @@ class CommentServiceImplTest {
                 .comment("коментарий")
                 .build();
 
-        Task task = Task.builder().performers(new ArrayList<>()).build();
+        Task task = Task.builder().performers(new LinkedHashSet<>()).build();
         User user = User.builder().build();
         task.setId(taskId);
         user.setId(userId);
         task.setUser(user);
 
-        when(taskService.getTaskById(taskId)).thenReturn(task);
+        when(taskMembershipIndex.isMember(taskId, userId)).thenReturn(true);
+        when(taskRepository.getReferenceById(taskId)).thenReturn(task);
         when(userService.getById(userId)).thenReturn(user);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(3L);
+            return comment;
+        });
 
         CommentResponse commentResponse = commentService.add(commentRequest, taskId, userId);
 
-        verify(taskService, times(1)).getTaskById(taskId);
+        verifyNoInteractions(taskService);
         verify(userService, times(1)).getById(userId);
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(taskEventHandler, times(1)).publish(TaskEventType.COMMENT_ADDED, taskId, 3L);
+    }
+
+    @Test
+    @DisplayName("Добавление коментаря к задаче, индекс участников еще не обновлен")
+    void addComment_StaleMembershipIndex() {
+        Long taskId = 1L;
+        Long userId = 2L;
+        CommentRequest commentRequest = CommentRequest.builder()
+                .comment("коментарий")
+                .build();
+        Task task = Task.builder().performers(new LinkedHashSet<>()).build();
+        User user = User.builder().build();
+        task.setId(taskId);
+        user.setId(userId);
+
+        when(taskMembershipIndex.isMember(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndUser_Id(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(true);
+        when(taskRepository.getReferenceById(taskId)).thenReturn(task);
+        when(userService.getById(userId)).thenReturn(user);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(3L);
+            return comment;
+        });
+
+        commentService.add(commentRequest, taskId, userId);
+
+        verifyNoInteractions(taskService);
+        verify(taskEventHandler, times(1)).publish(TaskEventType.COMMENT_ADDED, taskId, 3L);
+    }
+
+    @Test
+    @DisplayName("Добавление коментаря к задаче, пользователь не участвует в задаче")
+    void addComment_NotMember() {
+        Long taskId = 1L;
+        Long userId = 5L;
+        CommentRequest commentRequest = CommentRequest.builder()
+                .comment("коментарий")
+                .build();
+
+        when(taskMembershipIndex.isMember(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndUser_Id(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(false);
+        when(taskService.getTaskById(taskId)).thenReturn(Task.builder().build());
+
+        assertThatThrownBy(() -> commentService.add(commentRequest, taskId, userId))
+                .isInstanceOf(InputDataConflictException.class);
+        verifyNoInteractions(commentRepository, taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Добавление коментаря к задаче, задача не существует")
+    void addComment_TaskNotFound() {
+        Long taskId = 100L;
+        Long userId = 2L;
+        CommentRequest commentRequest = CommentRequest.builder()
+                .comment("коментарий")
+                .build();
+
+        when(taskMembershipIndex.isMember(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndUser_Id(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(false);
+        when(taskService.getTaskById(taskId)).thenThrow(new NotFoundException("Задачи с id:100 не существует"));
+
+        assertThatThrownBy(() -> commentService.add(commentRequest, taskId, userId))
+                .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(commentRepository, taskEventHandler);
     }
 
     @Test
@@ -80,7 +169,7 @@ class CommentServiceImplTest {
                 .comment("коментарий")
                 .build();
 
-        Task task = Task.builder().performers(new ArrayList<>()).build();
+        Task task = Task.builder().performers(new LinkedHashSet<>()).build();
         User user = User.builder().build();
         task.setId(taskId);
         user.setId(userId);
@@ -93,10 +182,11 @@ class CommentServiceImplTest {
                 .build();
 
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+        when(commentRepository.saveAndFlush(comment)).thenReturn(comment);
 
-        commentService.update(commentId, commentRequest, taskId, userId);
+        commentService.update(commentId, commentRequest, taskId, userId, null);
 
-        verify(commentRepository, times(1)).save(comment);
+        verify(commentRepository, times(1)).saveAndFlush(comment);
         verify(commentRepository, times(1)).findById(commentId);
     }
 
@@ -108,7 +198,7 @@ class CommentServiceImplTest {
         Long taskId = 1L;
         Long userId = 2L;
 
-        Task task = Task.builder().performers(new ArrayList<>()).build();
+        Task task = Task.builder().performers(new LinkedHashSet<>()).build();
         User user = User.builder().build();
         task.setId(taskId);
         user.setId(userId);
@@ -0,0 +1,380 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.config.QueryCountConfig;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.model.Comment;
+import ru.panov.taskmanagementsystem.model.Priority;
+import ru.panov.taskmanagementsystem.model.Status;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.TaskOperationType;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskBatchRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskOperationRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.reposirory.UserRepository;
+import ru.panov.taskmanagementsystem.service.CommentService;
+import ru.panov.taskmanagementsystem.service.StatusService;
+import ru.panov.taskmanagementsystem.service.TaskBatchService;
+import ru.panov.taskmanagementsystem.service.TaskService;
+import ru.panov.taskmanagementsystem.service.UserService;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.jpa.domain.Specification.where;
+
+/**
+ * Проверяет количество SQL-запросов, выполняемых методами {@link TaskService} и {@link CommentService}.
+ * Тесты фиксируют планы загрузки: каждый метод должен загружать только то, что ему нужно.
+ */
+@SpringBootTest(classes = {TestConfig.class, QueryCountConfig.class})
+@Transactional
+class ServiceQueryCountTest {
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private StatusService statusService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User owner;
+    private User performer;
+    private User stranger;
+    private Status status;
+    private Status nextStatus;
+    private Task task;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("admin@admin.ru").orElseThrow();
+        performer = userRepository.findByEmail("user1@user1.ru").orElseThrow();
+        stranger = User.builder()
+                .firstName("Иван")
+                .lastName("Иванов")
+                .email("stranger@mail.ru")
+                .password("password")
+                .build();
+        entityManager.persist(stranger);
+        List<Status> statuses = entityManager.createQuery("select s from Status s order by s.id", Status.class)
+                .setMaxResults(2)
+                .getResultList();
+        status = statuses.get(0);
+        nextStatus = statuses.get(1);
+        task = Task.builder()
+                .header("Задача для подсчета запросов")
+                .description("Описание задачи")
+                .status(status)
+                .priority(Priority.HIGH)
+                .user(owner)
+                .performers(new LinkedHashSet<>(List.of(performer)))
+                .build();
+        entityManager.persist(task);
+        comment = Comment.builder()
+                .comment("Комментарий")
+                .author(performer)
+                .task(task)
+                .build();
+        entityManager.persist(comment);
+        entityManager.persist(Comment.builder()
+                .comment("Еще комментарий")
+                .author(owner)
+                .task(task)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Создание задачи")
+    void create() {
+        TaskRequest request = TaskRequest.builder()
+                .header("Новая задача")
+                .description("Описание новой задачи")
+                .statusId(status.getId())
+                .priority(2)
+                .build();
+
+        assertThat(countQueries(() -> taskService.create(request, owner.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Создание задачи с прогретыми кэшами статусов и пользователей")
+    void create_CachedReferences() {
+        statusService.get(status.getId());
+        userService.getById(owner.getId());
+        TaskRequest request = TaskRequest.builder()
+                .header("Новая задача")
+                .description("Описание новой задачи")
+                .statusId(status.getId())
+                .priority(2)
+                .build();
+
+        assertThat(countQueriesWarm(() -> taskService.create(request, owner.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Получение задачи по id задачи и пользователя")
+    void getTaskByIdAndUserId() {
+        assertThat(countQueries(() -> taskService.getTaskByIdAndUserId(task.getId(), owner.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Получение задачи по id для проверки прав")
+    void getTaskById() {
+        assertThat(countQueries(() -> taskService.getTaskById(task.getId()).getPerformers().size())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Добавление исполнителя")
+    void addPerformer() {
+        assertThat(countQueries(() -> taskService.addPerformer(task.getId(), owner.getId(), stranger.getId())))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Назначение 50 исполнителей одним запросом")
+    void assignPerformers() {
+        Set<Long> performerIds = newUsers(50);
+
+        assertThat(countQueries(() -> taskService.assignPerformers(task.getId(), owner.getId(), performerIds)))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Снятие 50 исполнителей одним запросом")
+    void unassignPerformers() {
+        Set<Long> performerIds = newUsers(50);
+        taskService.assignPerformers(task.getId(), owner.getId(), performerIds);
+
+        assertThat(countQueries(() -> taskService.unassignPerformers(task.getId(), owner.getId(), performerIds)))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Получение исполнителей задачи")
+    void getPerformerByTaskId() {
+        assertThat(countQueries(() -> taskService.getPerformerByTaskId(task.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Обновление задачи")
+    void update() {
+        TaskRequest request = TaskRequest.builder()
+                .header("Обновленная задача")
+                .description("Обновленное описание")
+                .statusId(status.getId())
+                .priority(1)
+                .build();
+
+        assertThat(countQueries(() -> taskService.update(task.getId(), request, owner.getId(), task.getVersion()))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Обновление статуса задачи исполнителем")
+    void updateStatus() {
+        assertThat(countQueries(() -> taskService.updateStatus(task.getId(), performer.getId(), nextStatus.getId(),
+                task.getVersion())))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Получение списка задач с пагинацией по смещению")
+    void getAll() {
+        assertThat(countQueries(() -> taskService.getAll(where(null), PageRequest.of(0, 20), TaskFields.ALL)))
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Получение списка задач без исполнителей и комментариев")
+    void getAll_SparseFields() {
+        TaskFields fields = TaskFields.of("header,status,priority", null);
+        assertThat(countQueries(() -> taskService.getAll(where(null), PageRequest.of(0, 20), fields))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Получение списка задач с keyset-пагинацией")
+    void getAllByCursor() {
+        assertThat(countQueries(() -> taskService.getAll(where(null), "", 20, TaskFields.ALL))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Версия страницы задач для условного GET")
+    void getVersion() {
+        List<Long> ids = taskService.getIds(where(null), PageRequest.of(0, 20));
+        assertThat(countQueries(() -> taskService.getVersion(ids))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск задач")
+    void search() {
+        assertThat(countQueries(() -> taskService.search("задача", null, null, PageRequest.of(0, 20), TaskFields.ALL)))
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Удаление задачи")
+    void delete() {
+        Task taskWithoutComments = Task.builder()
+                .header("Задача без комментариев")
+                .description("Описание задачи")
+                .status(status)
+                .priority(Priority.LOW)
+                .user(owner)
+                .performers(new LinkedHashSet<>(List.of(performer)))
+                .build();
+        entityManager.persist(taskWithoutComments);
+
+        assertThat(countQueries(() -> taskService.delete(taskWithoutComments.getId(), owner.getId()))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Добавление комментария")
+    void addComment() {
+        CommentRequest request = CommentRequest.builder().comment("Новый комментарий").build();
+
+        assertThat(countQueries(() -> commentService.add(request, task.getId(), performer.getId()))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Добавление комментария участником задачи из прогретого индекса участников")
+    void addComment_WarmMembershipIndex() {
+        CommentRequest request = CommentRequest.builder().comment("Новый комментарий").build();
+        entityManager.flush();
+        commentService.add(request, task.getId(), performer.getId());
+
+        assertThat(countQueries(() -> commentService.add(request, task.getId(), performer.getId()))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Обновление комментария")
+    void updateComment() {
+        CommentRequest request = CommentRequest.builder().comment("Исправленный комментарий").build();
+
+        assertThat(countQueries(() -> commentService.update(comment.getId(), request, task.getId(), performer.getId(),
+                comment.getVersion())))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Удаление комментария")
+    void deleteComment() {
+        assertThat(countQueries(() -> commentService.delete(comment.getId(), task.getId(), performer.getId())))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Получение комментариев задачи")
+    void commentsByTask() {
+        assertThat(countQueries(() -> commentService.commentsByTask(task.getId(), PageRequest.of(0, 20))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Получение комментария по id")
+    void getComment() {
+        assertThat(countQueries(() -> commentService.getComment(comment.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Пакет: создание задачи, три исполнителя, комментарий и смена статуса")
+    void executeBatch() {
+        TaskRequest request = TaskRequest.builder()
+                .header("Пакетная задача")
+                .description("Описание пакетной задачи")
+                .statusId(status.getId())
+                .priority(2)
+                .build();
+        TaskBatchRequest batchRequest = new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.CREATE_TASK).task(request).build(),
+                addPerformer(owner),
+                addPerformer(performer),
+                addPerformer(stranger),
+                TaskOperationRequest.builder().type(TaskOperationType.ADD_COMMENT).taskRef(0)
+                        .comment(CommentRequest.builder().comment("Комментарий из пакета").build()).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.UPDATE_STATUS).taskRef(0)
+                        .statusId(nextStatus.getId()).build()));
+
+        assertThat(countQueries(() -> taskBatchService.execute(batchRequest, owner.getId()))).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Пакет: удаление задачи после нативного изменения ее версии не дает ложного конфликта")
+    void executeBatch_DeleteAfterUpdate() {
+        TaskRequest request = TaskRequest.builder()
+                .header("Пакетная задача")
+                .description("Описание пакетной задачи")
+                .statusId(status.getId())
+                .priority(2)
+                .build();
+        TaskBatchRequest batchRequest = new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.CREATE_TASK).task(request).build(),
+                addPerformer(performer),
+                TaskOperationRequest.builder().type(TaskOperationType.UPDATE_TASK).taskRef(0).task(request).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.DELETE_TASK).taskRef(0).build()));
+
+        Long taskId = taskBatchService.execute(batchRequest, owner.getId()).results().get(0).taskId();
+        entityManager.flush();
+
+        assertThat(entityManager.find(Task.class, taskId)).isNull();
+    }
+
+    private static TaskOperationRequest addPerformer(User user) {
+        return TaskOperationRequest.builder()
+                .type(TaskOperationType.ADD_PERFORMER)
+                .taskRef(0)
+                .performerId(user.getId())
+                .build();
+    }
+
+    private Set<Long> newUsers(int count) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .firstName("Исполнитель")
+                    .lastName("Исполнителев")
+                    .email("performer%s@mail.ru".formatted(i))
+                    .password("password")
+                    .build();
+            entityManager.persist(user);
+            ids.add(user.getId());
+        }
+        return ids;
+    }
+
+    private long countQueries(Runnable action) {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return countQueriesWarm(action);
+    }
+
+    private long countQueriesWarm(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        QueryCountHolder.clear();
+        action.run();
+        entityManager.flush();
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+}
@@ -0,0 +1,124 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+import ru.panov.taskmanagementsystem.exception.NotFoundException;
+import ru.panov.taskmanagementsystem.model.TaskOperationType;
+import ru.panov.taskmanagementsystem.model.dto.request.CommentRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskBatchRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskOperationRequest;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.CommentResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskBatchResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskOperationResult;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.service.CommentService;
+import ru.panov.taskmanagementsystem.service.TaskService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceImplTest {
+    @InjectMocks
+    private TaskBatchServiceImpl taskBatchService;
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private CommentService commentService;
+
+    @Test
+    @DisplayName("Пакет операций, операции ссылаются на созданную в пакете задачу")
+    void execute_ResolvesTaskRef() {
+        Long userId = 2L;
+        TaskRequest taskRequest = TaskRequest.builder()
+                .header("заголовок")
+                .description("описание")
+                .statusId(1L)
+                .priority(1)
+                .build();
+        CommentRequest commentRequest = CommentRequest.builder().comment("коментарий").build();
+        when(taskService.create(taskRequest, userId)).thenReturn(TaskResponse.builder().taskId(10L).build());
+        when(commentService.add(commentRequest, 10L, userId)).thenReturn(new CommentResponse(7L, "коментарий", 10L, userId, 0L));
+
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.CREATE_TASK).task(taskRequest).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.ADD_PERFORMER).taskRef(0).performerId(3L).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.ADD_COMMENT).taskRef(0).comment(commentRequest).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.UPDATE_STATUS).taskId(10L).statusId(2L).build()
+        )), userId);
+
+        verify(taskService, times(1)).addPerformer(10L, userId, 3L);
+        verify(taskService, times(1)).updateStatus(10L, userId, 2L, null);
+        assertThat(response.results()).containsExactly(
+                new TaskOperationResult(0, TaskOperationType.CREATE_TASK, 10L, null),
+                new TaskOperationResult(1, TaskOperationType.ADD_PERFORMER, 10L, null),
+                new TaskOperationResult(2, TaskOperationType.ADD_COMMENT, 10L, 7L),
+                new TaskOperationResult(3, TaskOperationType.UPDATE_STATUS, 10L, null));
+    }
+
+    @Test
+    @DisplayName("Пакет операций, удаление задачи после добавления исполнителя и изменения задачи")
+    void execute_DeleteAfterUpdate() {
+        Long userId = 2L;
+        TaskRequest taskRequest = TaskRequest.builder()
+                .header("заголовок")
+                .description("описание")
+                .statusId(1L)
+                .priority(1)
+                .build();
+        when(taskService.update(10L, taskRequest, userId, null)).thenReturn(2L);
+
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.ADD_PERFORMER).taskId(10L).performerId(3L).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.UPDATE_TASK).taskRef(0).task(taskRequest).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.DELETE_TASK).taskRef(1).build()
+        )), userId);
+
+        InOrder inOrder = inOrder(taskService);
+        inOrder.verify(taskService).addPerformer(10L, userId, 3L);
+        inOrder.verify(taskService).update(10L, taskRequest, userId, null);
+        inOrder.verify(taskService).delete(10L, userId);
+        assertThat(response.results()).containsExactly(
+                new TaskOperationResult(0, TaskOperationType.ADD_PERFORMER, 10L, null),
+                new TaskOperationResult(1, TaskOperationType.UPDATE_TASK, 10L, null),
+                new TaskOperationResult(2, TaskOperationType.DELETE_TASK, 10L, null));
+    }
+
+    @Test
+    @DisplayName("Пакет операций, ошибка операции содержит ее номер и прерывает пакет")
+    void execute_FailedOperation() {
+        Long userId = 2L;
+        doThrow(new NotFoundException("Задачи с id:5 у пользовтателя с id:2 не существует"))
+                .when(taskService).delete(5L, userId);
+
+        assertThatThrownBy(() -> taskBatchService.execute(new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.UPDATE_STATUS).taskId(4L).statusId(2L).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.DELETE_TASK).taskId(5L).build(),
+                TaskOperationRequest.builder().type(TaskOperationType.DELETE_TASK).taskId(6L).build()
+        )), userId))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Операция 1: Задачи с id:5 у пользовтателя с id:2 не существует");
+        verify(taskService, never()).delete(6L, userId);
+    }
+
+    @Test
+    @DisplayName("Пакет операций, ссылка на последующую операцию")
+    void execute_ForwardTaskRef() {
+        assertThatThrownBy(() -> taskBatchService.execute(new TaskBatchRequest(List.of(
+                TaskOperationRequest.builder().type(TaskOperationType.DELETE_TASK).taskRef(0).build()
+        )), 2L))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Операция 0: taskRef:0 должен ссылаться на предыдущую операцию пакета");
+        verifyNoInteractions(taskService, commentService);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.panov.taskmanagementsystem.model.ExportFormat;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.jpa.domain.Specification.where;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceImplTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskExportServiceImpl taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportServiceImpl(taskRepository, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Выгрузка задач в NDJSON, одна задача на строку")
+    void export_Ndjson() throws IOException {
+        when(taskRepository.streamAll(any(), eq(TaskExportServiceImpl.FETCH_SIZE))).thenReturn(tasks());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        taskExportService.export(where(null), ExportFormat.NDJSON, outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"taskId":1,"header":"Первая задача","description":"Описание, с запятой","status":"В ожидании","priority":"LOW","userId":2}
+                {"taskId":2,"header":"Вторая задача","description":"Описание","status":"Завершено","priority":"HIGH","userId":3}
+                """);
+    }
+
+    @Test
+    @DisplayName("Выгрузка задач в CSV с заголовком колонок")
+    void export_Csv() throws IOException {
+        when(taskRepository.streamAll(any(), eq(TaskExportServiceImpl.FETCH_SIZE))).thenReturn(tasks());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        taskExportService.export(where(null), ExportFormat.CSV, outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                taskId,header,description,status,priority,userId
+                1,"Первая задача","Описание, с запятой","В ожидании",LOW,2
+                2,"Вторая задача",Описание,Завершено,HIGH,3
+                """);
+    }
+
+    @Test
+    @DisplayName("Выгрузка задач в NDJSON, задач нет")
+    void export_Empty() throws IOException {
+        when(taskRepository.streamAll(any(), eq(TaskExportServiceImpl.FETCH_SIZE))).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        taskExportService.export(where(null), ExportFormat.NDJSON, outputStream);
+
+        assertThat(outputStream.size()).isZero();
+    }
+
+    private static Stream<TaskResponse> tasks() {
+        return Stream.of(
+                TaskResponse.builder()
+                        .taskId(1L)
+                        .header("Первая задача")
+                        .description("Описание, с запятой")
+                        .status("В ожидании")
+                        .priority("LOW")
+                        .userId(2L)
+                        .build(),
+                TaskResponse.builder()
+                        .taskId(2L)
+                        .header("Вторая задача")
+                        .description("Описание")
+                        .status("Завершено")
+                        .priority("HIGH")
+                        .userId(3L)
+                        .build());
+    }
+}
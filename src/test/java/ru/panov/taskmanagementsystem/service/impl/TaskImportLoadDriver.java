@@ -0,0 +1,75 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.panov.taskmanagementsystem.TaskManagementApplication;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportResponse;
+import ru.panov.taskmanagementsystem.service.TaskImportService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный драйвер импорта задач: {@value #ROUNDS} раза импортирует {@value #TASKS} задач из NDJSON
+ * через {@link TaskImportService} (разбор, валидация и запись в БД, без HTTP) и печатает пропускную
+ * способность каждого прогона; первый прогон прогревочный. После каждого прогона импортированные задачи
+ * удаляются, поэтому все прогоны пишут в таблицу одного размера.
+ * <p>
+ * Не запускается в {@code mvn test}. Приложение запускается с PostgreSQL из Testcontainers ({@link TestConfig});
+ * если задано системное свойство {@code spring.datasource.url} (и учетные данные), используется указанная БД.
+ * Запуск: {@code mvn test-compile}, затем main этого класса с тестовым classpath.
+ * <p>
+ * Пропускная способность ограничена сервером БД: каждая строка вычисляет {@code search_vector} и обновляет
+ * три GIN-индекса ({@code search_vector} и два триграммных). На локальном PostgreSQL 16 с одним ядром,
+ * общим с приложением, даже {@code INSERT ... SELECT} тех же строк внутри БД дает около 7,9 тыс. строк/с;
+ * без GIN-индексов — 15,5 тыс. строк/с. Импорт через {@code COPY} в таблицу с 2 млн задач — 7,2-8,2 тыс.
+ * задач/с, прежними пакетными {@code INSERT} — 7,7-8,7 тыс. задач/с. В пустую таблицу после
+ * {@code analyze} {@code COPY} дает 8,6-8,9 тыс. задач/с, а пакетные {@code INSERT} падали до 0,85 тыс.
+ * задач/с: проверка {@code header = any(?)} получала план с последовательным просмотром растущей таблицы.
+ */
+public class TaskImportLoadDriver {
+    private static final int TASKS = 50_000;
+    private static final int ROUNDS = 4;
+    private static final String USER_SQL = "select id from dbo.users where email = 'user1@user1.ru'";
+    private static final String STATUS_SQL = "select min(id) from dbo.statuses";
+    private static final String CLEANUP_SQL = "delete from dbo.tasks where header like 'Импорт для замера %'";
+
+    public static void main(String[] args) {
+        SpringApplication.Augmented application = SpringApplication.from(TaskManagementApplication::main);
+        if (System.getProperty("spring.datasource.url") == null) {
+            application = application.with(TestConfig.class);
+        }
+        try (ConfigurableApplicationContext context = application.run("--server.port=0")
+                .getApplicationContext()) {
+            TaskImportService taskImportService = context.getBean(TaskImportService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Long userId = jdbcTemplate.queryForObject(USER_SQL, Long.class);
+            byte[] ndjson = ndjson(jdbcTemplate.queryForObject(STATUS_SQL, Long.class));
+            jdbcTemplate.update(CLEANUP_SQL);
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                TaskImportResponse response = taskImportService.importTasks(new ByteArrayInputStream(ndjson), userId);
+                double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+                System.out.printf("%s: %d задач за %.2f с, %.0f задач/с, ошибок %d%n",
+                        round == 0 ? "прогрев" : "прогон " + round, response.imported(), seconds,
+                        response.imported() / seconds, response.errors().size());
+                jdbcTemplate.update(CLEANUP_SQL);
+                jdbcTemplate.execute("vacuum analyze dbo.tasks");
+            }
+        }
+    }
+
+    private static byte[] ndjson(Long statusId) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TASKS; i++) {
+            ndjson.append("""
+                    {"header":"Импорт для замера %d","description":"Описание задачи %d: проверить отчет, \
+                    согласовать сроки и обновить документацию","statusId":%d,"priority":%d}
+                    """.formatted(i, i, statusId, i % 3 + 1));
+        }
+        return ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.panov.taskmanagementsystem.model.Status;
+import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportError;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskImportResponse;
+import ru.panov.taskmanagementsystem.reposirory.StatusRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceImplTest {
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TaskBatchRepository taskBatchRepository;
+    @Mock
+    private StatusRepository statusRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskImportServiceImpl taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportServiceImpl(taskBatchRepository, statusRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager));
+        Status status = Status.builder().build();
+        status.setId(1L);
+        when(statusRepository.findAll()).thenReturn(List.of(status));
+    }
+
+    @Test
+    @DisplayName("Импорт задач, корректные строки сохраняются одной порцией")
+    void importTasks_ValidLines() {
+        when(taskBatchRepository.insertAbsent(anyList(), eq(USER_ID)))
+                .thenReturn(Set.of("Первая задача", "Вторая задача"));
+
+        TaskImportResponse response = taskImportService.importTasks(ndjson(
+                task("Первая задача", 1, 1),
+                "",
+                task("Вторая задача", 1, 3)), USER_ID);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).isEmpty();
+        verify(taskBatchRepository, times(1)).insertAbsent(List.of(
+                new TaskRequest("Первая задача", "Описание задачи", 1L, 1),
+                new TaskRequest("Вторая задача", "Описание задачи", 1L, 3)), USER_ID);
+    }
+
+    @Test
+    @DisplayName("Импорт задач, ошибки возвращаются с номерами строк, остальные строки сохраняются")
+    void importTasks_ReportsErrorsPerLine() {
+        when(taskBatchRepository.insertAbsent(anyList(), eq(USER_ID))).thenReturn(Set.of("Новая задача"));
+
+        TaskImportResponse response = taskImportService.importTasks(ndjson(
+                "{не json",
+                task("", 1, 1),
+                task("Задача с неверным приоритетом", 1, 4),
+                task("Задача с неизвестным статусом", 99, 1),
+                task("Существующая задача", 1, 1),
+                task("Новая задача", 1, 2),
+                task("Новая задача", 1, 2)), USER_ID);
+
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.errors()).extracting(TaskImportError::line)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 7L);
+        assertThat(response.errors()).extracting(TaskImportError::message)
+                .contains("header не может быть пустым или состоять только из пробелов.",
+                        "priority не может быть больше 3.",
+                        "Статус с id:99 не найден",
+                        "Задача с заголовком: Существующая задача уже существует",
+                        "Задача с заголовком: Новая задача уже встречается в строке 6");
+        verify(taskBatchRepository, times(1)).insertAbsent(List.of(
+                new TaskRequest("Существующая задача", "Описание задачи", 1L, 1),
+                new TaskRequest("Новая задача", "Описание задачи", 1L, 2)), USER_ID);
+    }
+
+    @Test
+    @DisplayName("Импорт задач, большой поток сохраняется порциями")
+    void importTasks_SavesInChunks() {
+        when(taskBatchRepository.insertAbsent(anyList(), eq(USER_ID))).thenAnswer(invocation ->
+                invocation.<List<TaskRequest>>getArgument(0).stream()
+                        .map(TaskRequest::header)
+                        .collect(Collectors.toSet()));
+        String[] lines = IntStream.range(0, TaskImportServiceImpl.CHUNK_SIZE * 2 + 1)
+                .mapToObj(i -> task("Задача " + i, 1, 1))
+                .toArray(String[]::new);
+
+        TaskImportResponse response = taskImportService.importTasks(ndjson(lines), USER_ID);
+
+        assertThat(response.imported()).isEqualTo(TaskImportServiceImpl.CHUNK_SIZE * 2 + 1);
+        verify(taskBatchRepository, times(3)).insertAbsent(anyList(), eq(USER_ID));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Импорт задач, заголовок, занятый параллельной записью, отклоняется только в своей строке")
+    void importTasks_ConcurrentDuplicate() {
+        when(taskBatchRepository.insertAbsent(anyList(), eq(USER_ID))).thenReturn(Set.of("Вторая задача"));
+
+        TaskImportResponse response = taskImportService.importTasks(ndjson(
+                task("Первая задача", 1, 1),
+                task("Вторая задача", 1, 1)), USER_ID);
+
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.errors()).containsExactly(
+                new TaskImportError(1L, "Задача с заголовком: Первая задача уже существует"));
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    private static String task(String header, long statusId, int priority) {
+        return """
+                {"header":"%s","description":"Описание задачи","statusId":%s,"priority":%s}"""
+                .formatted(header, statusId, priority);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.mapper.TaskMapper;
+import ru.panov.taskmanagementsystem.model.Comment;
+import ru.panov.taskmanagementsystem.model.Priority;
+import ru.panov.taskmanagementsystem.model.Status;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.User;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.reposirory.TaskProjectionRepository;
+import ru.panov.taskmanagementsystem.reposirory.UserRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает объем памяти, выделяемой на одну задачу списка, при загрузке через сущности
+ * с последующим маппингом и при проекции строк напрямую в {@link TaskResponse}.
+ */
+@SpringBootTest(classes = TestConfig.class)
+@Transactional
+class TaskListingAllocationTest {
+    private static final int TASKS = 50;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private TaskProjectionRepository taskProjectionRepository;
+    @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByEmail("admin@admin.ru").orElseThrow();
+        User performer = userRepository.findByEmail("user1@user1.ru").orElseThrow();
+        Status status = entityManager.createQuery("select s from Status s order by s.id", Status.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = Task.builder()
+                    .header("Задача для замера памяти " + i)
+                    .description("Описание задачи " + i)
+                    .status(status)
+                    .priority(Priority.MID)
+                    .user(owner)
+                    .performers(new LinkedHashSet<>(List.of(owner, performer)))
+                    .build();
+            entityManager.persist(task);
+            for (int j = 0; j < 5; j++) {
+                entityManager.persist(Comment.builder()
+                        .comment("Комментарий " + j)
+                        .author(performer)
+                        .task(task)
+                        .build());
+            }
+            ids.add(task.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Проекция в DTO выделяет на задачу минимум в 3 раза меньше памяти, чем загрузка сущностей")
+    void projectionAllocatesLessThanEntities() {
+        Supplier<List<TaskResponse>> entities = () -> {
+            List<Task> tasks = entityManager.createQuery(
+                            "select t from Task t join fetch t.status where t.id in :ids", Task.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            List<TaskResponse> responses = taskMapper.listEntityToListResponse(tasks);
+            entityManager.clear();
+            return responses;
+        };
+        Supplier<List<TaskResponse>> projection = () -> taskProjectionRepository.findAllByIds(ids);
+
+        assertThat(projection.get()).usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(entities.get());
+
+        long entityBytes = allocatedBytesPerTask(entities);
+        long projectionBytes = allocatedBytesPerTask(projection);
+
+        System.out.printf("Выделено памяти на задачу: сущности %d Б, проекция %d Б%n",
+                entityBytes, projectionBytes);
+        assertThat(projectionBytes * 3).isLessThanOrEqualTo(entityBytes);
+    }
+
+    private long allocatedBytesPerTask(Supplier<List<TaskResponse>> listing) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            listing.get();
+        }
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            listing.get();
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+        return allocated / ((long) MEASURED_ITERATIONS * TASKS);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.panov.taskmanagementsystem.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.panov.taskmanagementsystem.TaskManagementApplication;
+import ru.panov.taskmanagementsystem.config.TestConfig;
+import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.service.TaskService;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает задержку получения страницы списка задач при пагинации по смещению
+ * ({@code offset} — номер страницы) и keyset-пагинации по курсору на страницах 1, 1 000 и 100 000.
+ * Страницы запрашиваются через {@link TaskService} так же, как их запрашивает {@code GET /tasks}:
+ * по {@code limit} задач в порядке убывания даты создания. Перед замерами в БД создается
+ * {@value #TASKS} задач, курсор keyset-пагинации указывает на последнюю задачу предыдущей страницы,
+ * обе пагинации возвращают одинаковые задачи.
+ * <p>
+ * Приложение запускается с PostgreSQL из Testcontainers ({@link TestConfig}), поэтому нужен Docker.
+ * Если задано системное свойство {@code spring.datasource.url} (и учетные данные), используется указанная БД;
+ * задачи для замера создаются в ней один раз и переиспользуются следующими запусками.
+ * Запуск: {@code mvn test-compile}, затем main этого класса с тестовым classpath.
+ * <p>
+ * На локальном PostgreSQL 16 с 2 000 020 задачами (одно ядро, общее с PostgreSQL) среднее время страницы
+ * на страницах 1, 1 000 и 100 000: keyset — 4,8, 3,5 и 4,3 мс, offset — 1,9, 7,1 и 269 мс.
+ * Keyset не зависит от глубины, потому что сравнение строк {@code (created, id) < (?, ?)} начинает
+ * просмотр индекса {@code idx_tasks_created_id} сразу с курсора.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPaginationBenchmark {
+    private static final int LIMIT = 20;
+    private static final int TASKS = 100_001 * LIMIT;
+    private static final String SEED_SQL = """
+            insert into dbo.tasks (status_id, user_id, header, description, priority, created, updated)
+            select s.id, u.id, 'Задача для замера пагинации ' || g, 'Описание задачи ' || g, 'MID',
+                   timestamp '2024-01-01 00:00:00' + g * interval '1 second', now()
+            from generate_series(1, ?) g,
+                 (select min(id) id from dbo.statuses) s,
+                 (select min(id) id from dbo.users) u""";
+    private static final String SEEDED_SQL = """
+            select count(*) from dbo.tasks
+            where header = 'Задача для замера пагинации 1'""";
+    private static final String KEY_SQL = """
+            select created, id from dbo.tasks
+            order by created desc, id desc
+            offset ? limit 1""";
+
+    @Param({"1", "1000", "100000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Specification<Task> specification;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        SpringApplication.Augmented application = SpringApplication.from(TaskManagementApplication::main);
+        if (System.getProperty("spring.datasource.url") == null) {
+            application = application.with(TestConfig.class);
+        }
+        context = application.run().getApplicationContext();
+        taskService = context.getBean(TaskService.class);
+        specification = Specification.where(null);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (jdbcTemplate.queryForObject(SEEDED_SQL, Long.class) == 0) {
+            jdbcTemplate.update(SEED_SQL, TASKS);
+            jdbcTemplate.execute("analyze dbo.tasks");
+        }
+        cursor = jdbcTemplate.queryForObject(KEY_SQL, (rs, rowNum) -> new TaskCursor(
+                        rs.getTimestamp("created").toLocalDateTime(), rs.getLong("id")),
+                (long) page * LIMIT - 1).encode();
+        if (!offset().equals(keyset())) {
+            throw new IllegalStateException("Пагинации вернули разные задачи на странице " + page);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> offset() {
+        return taskService.getIds(specification, PageRequest.of(page, LIMIT));
+    }
+
+    @Benchmark
+    public List<Long> keyset() {
+        return taskService.getIds(specification, cursor, LIMIT).ids();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskPaginationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -1,30 +1,57 @@
 package ru.panov.taskmanagementsystem.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import ru.panov.taskmanagementsystem.cache.TaskMembershipIndex;
+import ru.panov.taskmanagementsystem.cache.TaskResponseCache;
 import ru.panov.taskmanagementsystem.exception.DuplicateException;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
 import ru.panov.taskmanagementsystem.exception.NotFoundException;
 import ru.panov.taskmanagementsystem.mapper.TaskMapper;
 import ru.panov.taskmanagementsystem.mapper.UserMapper;
 import ru.panov.taskmanagementsystem.model.Status;
 import ru.panov.taskmanagementsystem.model.Task;
+import ru.panov.taskmanagementsystem.model.TaskEventType;
 import ru.panov.taskmanagementsystem.model.User;
 import ru.panov.taskmanagementsystem.model.dto.request.TaskRequest;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskCursorResponse;
+import ru.panov.taskmanagementsystem.model.dto.response.TaskResponse;
+import ru.panov.taskmanagementsystem.notification.TaskEventHandler;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository;
+import ru.panov.taskmanagementsystem.reposirory.TaskBatchRepository.PerformersChange;
+import ru.panov.taskmanagementsystem.reposirory.TaskProjectionRepository;
 import ru.panov.taskmanagementsystem.reposirory.TaskRepository;
 import ru.panov.taskmanagementsystem.service.StatusService;
 import ru.panov.taskmanagementsystem.service.UserService;
-
+import ru.panov.taskmanagementsystem.util.ResourceVersion;
+import ru.panov.taskmanagementsystem.util.TaskCursor;
+import ru.panov.taskmanagementsystem.util.TaskFields;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.data.jpa.domain.Specification.where;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +61,10 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
     @Mock
+    private TaskProjectionRepository taskProjectionRepository;
+    @Mock
+    private TaskBatchRepository taskBatchRepository;
+    @Mock
     private TaskMapper taskMapper;
     @Mock
     private UserService userService;
@@ -41,6 +72,14 @@ class TaskServiceImplTest {
     private StatusService statusService;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private TaskEventHandler taskEventHandler;
+    @Mock
+    private TaskResponseCache taskResponseCache;
+    @Mock
+    private TaskMembershipIndex taskMembershipIndex;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
     @DisplayName("Сорханение успешно новой задачи у авторезированного пользователя")
@@ -52,16 +91,13 @@ class TaskServiceImplTest {
                 .priority(1)
                 .statusId(1L)
                 .build();
+        TaskResponse expected = TaskResponse.builder().taskId(5L).header("заголовок").build();
 
-        when(taskRepository.findByHeader(taskRequest.header())).thenReturn(Optional.empty());
-        when(userService.getById(userId)).thenReturn(User.builder().build());
-
-        taskService.create(taskRequest, userId);
-
-        verify(taskRepository, times(1)).findByHeader(taskRequest.header());
-        verify(userService, times(1)).getById(userId);
-        verify(taskRepository, times(1)).save(any());
+        when(taskRepository.insertIfAbsent(taskRequest, userId)).thenReturn(Optional.of(expected));
 
+        assertThat(taskService.create(taskRequest, userId)).isEqualTo(expected);
+        verify(taskRepository, never()).existsByHeader(any());
+        verifyNoInteractions(userService, statusService);
     }
 
     @Test
@@ -75,7 +111,7 @@ class TaskServiceImplTest {
                 .statusId(1L)
                 .build();
 
-        when(taskRepository.findByHeader(taskRequest.header())).thenReturn(Optional.of(Task.builder().build()));
+        when(taskRepository.insertIfAbsent(taskRequest, userId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.create(taskRequest, userId))
                 .isInstanceOf(DuplicateException.class)
@@ -83,6 +119,24 @@ class TaskServiceImplTest {
                         .formatted(taskRequest.header()));
     }
 
+    @Test
+    @DisplayName("Сорханение новой задачи не удалось, статус не найден")
+    void createTask_StatusNotFound() {
+        Long userId = 1L;
+        TaskRequest taskRequest = TaskRequest.builder()
+                .header("заголовок")
+                .description("описание")
+                .priority(1)
+                .statusId(9L)
+                .build();
+
+        when(taskRepository.insertIfAbsent(taskRequest, userId)).thenReturn(Optional.empty());
+        when(statusService.get(9L)).thenThrow(new NotFoundException("Статус с id:9 не найден"));
+
+        assertThatThrownBy(() -> taskService.create(taskRequest, userId))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Статус с id:9 не найден");
+    }
 
     @Test
     @DisplayName("Получение задачи по id задачи и пользователя, успешно")
@@ -125,11 +179,11 @@ class TaskServiceImplTest {
                 .description("описание")
                 .build();
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(expectedTask));
+        when(taskRepository.findWithPerformersById(taskId)).thenReturn(Optional.of(expectedTask));
 
         Task actualTask = taskService.getTaskById(taskId);
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findWithPerformersById(taskId);
         assertThat(actualTask).isEqualTo(expectedTask);
     }
 
@@ -138,7 +192,7 @@ class TaskServiceImplTest {
     void getTaskById_TaskNotFound() {
         Long taskId = 1L;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findWithPerformersById(taskId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.getTaskById(taskId))
                 .isInstanceOf(NotFoundException.class)
@@ -146,62 +200,188 @@ class TaskServiceImplTest {
                         .formatted(taskId));
     }
 
+    @Test
+    @DisplayName("Получение задачи в JSON, представление из кэша")
+    void getJsonById_CacheHit() throws IOException {
+        Long taskId = 1L;
+        LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        TaskResponseCache.CachedJson cached = mock(TaskResponseCache.CachedJson.class);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(taskProjectionRepository.findVersionByIds(List.of(taskId)))
+                .thenReturn(new ResourceVersion(1L, updated, 1.0));
+        when(taskResponseCache.get(taskId, updated)).thenReturn(cached);
+
+        taskService.getJsonById(taskId).writeTo(outputStream);
+
+        verify(cached, times(1)).writeTo(outputStream);
+        verify(cached, times(1)).close();
+        verify(taskProjectionRepository, never()).findAllByIds(any());
+    }
+
+    @Test
+    @DisplayName("Получение задачи в JSON, представление сериализуется и сохраняется в кэш")
+    void getJsonById_CacheMiss() throws IOException {
+        Long taskId = 1L;
+        LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(taskProjectionRepository.findVersionByIds(List.of(taskId)))
+                .thenReturn(new ResourceVersion(1L, updated, 1.0));
+        when(taskProjectionRepository.findAllByIds(List.of(taskId)))
+                .thenReturn(List.of(TaskResponse.builder().taskId(taskId).header("заголовок").build()));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskService.getJsonById(taskId).writeTo(outputStream);
+
+        byte[] json = outputStream.toByteArray();
+        assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo("{\"taskId\":1,\"header\":\"заголовок\"}");
+        verify(taskResponseCache, times(1)).put(taskId, updated, json);
+    }
+
+    @Test
+    @DisplayName("Получение задачи в JSON, задача не найдена")
+    void getJsonById_NotFound() {
+        when(taskProjectionRepository.findVersionByIds(List.of(1L))).thenReturn(new ResourceVersion(0L, null, null));
+
+        assertThatThrownBy(() -> taskService.getJsonById(1L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Задачи с id:1 не существует");
+    }
+
     @Test
     @DisplayName("Добавление исполнителя к задаче, успешно")
     void addPerformer_Success() {
         Long taskId = 1L;
         Long userId = 1L;
         Long performId = 2L;
+        when(taskBatchRepository.assignPerformers(taskId, userId, Set.of(performId)))
+                .thenReturn(new PerformersChange(true, 1, 1));
 
-        Task task = Task.builder()
-                .header("заголовок")
-                .description("описание").build();
-
-        User user = User.builder().build();
-        user.setId(userId);
+        taskService.addPerformer(taskId, userId, performId);
 
-        User performer = User.builder().build();
-        performer.setId(performId);
+        InOrder inOrder = inOrder(taskMembershipIndex, taskEventHandler);
+        inOrder.verify(taskMembershipIndex).invalidate(taskId);
+        inOrder.verify(taskEventHandler).publish(TaskEventType.PERFORMER_ADDED, taskId);
+        verify(taskResponseCache, times(1)).evict(taskId);
+        verifyNoInteractions(taskRepository, userService);
+    }
 
-        task.setPerformers(new ArrayList<>());
+    @Test
+    @DisplayName("Добавление исполнителя к задаче, исполнитель уже был добавлен к задаче")
+    void addPerformer_PerformerHasAlreadyBeenAdded() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Long performId = 2L;
+        when(taskBatchRepository.assignPerformers(taskId, userId, Set.of(performId)))
+                .thenReturn(new PerformersChange(true, 1, 0));
 
-        when(taskRepository.findByIdAndUser_Id(taskId, userId)).thenReturn(Optional.of(task));
-        when(userService.getById(performId)).thenReturn(performer);
+        assertThatThrownBy(() -> taskService.addPerformer(taskId, userId, performId))
+                .isInstanceOf(DuplicateException.class)
+                .hasMessage("Исполнитель с id:%s уже добавлен к задаче с id:%s"
+                        .formatted(performId, taskId));
+        verifyNoInteractions(taskEventHandler, taskResponseCache, taskMembershipIndex);
+    }
 
-        taskService.addPerformer(taskId, userId, performId);
+    @Test
+    @DisplayName("Добавление исполнителя к задаче, исполнитель не существует")
+    void addPerformer_UserNotFound() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Long performId = 100L;
+        when(taskBatchRepository.assignPerformers(taskId, userId, Set.of(performId)))
+                .thenReturn(new PerformersChange(true, 0, 0));
 
-        verify(taskRepository, times(1)).findByIdAndUser_Id(taskId, userId);
-        verify(userService, times(1)).getById(performId);
-        verify(taskRepository, times(1)).save(any());
+        assertThatThrownBy(() -> taskService.addPerformer(taskId, userId, performId))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Пользователь с id:100 не найден");
+        verifyNoInteractions(taskEventHandler);
     }
 
     @Test
-    @DisplayName("Добавление исполнителя к задаче, исполнитель уже был добавлен к задаче")
-    void addPerformer_PerformerHasAlreadyBeenAdded() {
+    @DisplayName("Добавление исполнителя к задаче, задача не найдена у пользователя")
+    void addPerformer_TaskNotFound() {
         Long taskId = 1L;
         Long userId = 1L;
         Long performId = 2L;
+        when(taskBatchRepository.assignPerformers(taskId, userId, Set.of(performId)))
+                .thenReturn(new PerformersChange(false, 1, 0));
 
-        Task task = Task.builder()
-                .header("заголовок")
-                .description("описание").build();
+        assertThatThrownBy(() -> taskService.addPerformer(taskId, userId, performId))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Задачи с id:1 у пользовтателя с id:1 не существует");
+        verifyNoInteractions(taskEventHandler);
+    }
 
-        User user = User.builder().build();
-        user.setId(userId);
+    @Test
+    @DisplayName("Назначение набора исполнителей, назначены только новые исполнители")
+    void assignPerformers_Success() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Set<Long> performerIds = Set.of(2L, 3L, 4L);
+        when(taskBatchRepository.assignPerformers(taskId, userId, performerIds))
+                .thenReturn(new PerformersChange(true, 3, 2));
 
-        User performer = User.builder().build();
-        performer.setId(performId);
+        assertThat(taskService.assignPerformers(taskId, userId, performerIds)).isEqualTo(2);
 
-        task.setPerformers(new ArrayList<>(Arrays.asList(performer)));
+        verify(taskEventHandler, times(1)).publish(TaskEventType.PERFORMER_ADDED, taskId);
+        verify(taskResponseCache, times(1)).evict(taskId);
+    }
 
-        when(taskRepository.findByIdAndUser_Id(taskId, userId)).thenReturn(Optional.of(task));
-        when(userService.getById(performId)).thenReturn(performer);
+    @Test
+    @DisplayName("Назначение набора исполнителей, все уже назначены")
+    void assignPerformers_NothingChanged() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Set<Long> performerIds = Set.of(2L);
+        when(taskBatchRepository.assignPerformers(taskId, userId, performerIds))
+                .thenReturn(new PerformersChange(true, 1, 0));
 
+        assertThat(taskService.assignPerformers(taskId, userId, performerIds)).isZero();
 
-        assertThatThrownBy(() -> taskService.addPerformer(taskId, userId, performId))
-                .isInstanceOf(DuplicateException.class)
-                .hasMessage("Исполнитель с id:%s уже добавлен к задаче с id:%s"
-                        .formatted(performId, taskId));
+        verifyNoInteractions(taskEventHandler, taskResponseCache, taskMembershipIndex);
+    }
+
+    @Test
+    @DisplayName("Назначение набора исполнителей, среди пользователей есть несуществующие")
+    void assignPerformers_UserNotFound() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Set<Long> performerIds = Set.of(2L, 100L);
+        when(taskBatchRepository.assignPerformers(taskId, userId, performerIds))
+                .thenReturn(new PerformersChange(true, 1, 0));
+
+        assertThatThrownBy(() -> taskService.assignPerformers(taskId, userId, performerIds))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageStartingWith("Среди пользователей с id:");
+        verifyNoInteractions(taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Снятие набора исполнителей, задача не принадлежит пользователю")
+    void unassignPerformers_NotOwner() {
+        Long taskId = 1L;
+        Long userId = 2L;
+        Set<Long> performerIds = Set.of(3L);
+        when(taskBatchRepository.unassignPerformers(taskId, userId, performerIds))
+                .thenReturn(new PerformersChange(false, 0, 0));
+
+        assertThatThrownBy(() -> taskService.unassignPerformers(taskId, userId, performerIds))
+                .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Снятие набора исполнителей, успешно")
+    void unassignPerformers_Success() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        Set<Long> performerIds = Set.of(2L, 3L);
+        when(taskBatchRepository.unassignPerformers(taskId, userId, performerIds))
+                .thenReturn(new PerformersChange(true, 0, 2));
+
+        assertThat(taskService.unassignPerformers(taskId, userId, performerIds)).isEqualTo(2);
+
+        verify(taskEventHandler, times(1)).publish(TaskEventType.PERFORMER_REMOVED, taskId);
+        verify(taskResponseCache, times(1)).evict(taskId);
+        verify(taskMembershipIndex, times(1)).invalidate(taskId);
     }
 
     @Test
@@ -222,15 +402,63 @@ class TaskServiceImplTest {
         Long taskId = 1L;
         Long userId = 1L;
         TaskRequest taskRequest = TaskRequest.builder().statusId(1L).priority(1).build();
-        when(taskRepository.findByIdAndUser_Id(taskId, userId))
-                .thenReturn(Optional.of(Task.builder().build()));
-        when(statusService.get(taskRequest.statusId())).thenReturn(Status.builder().build());
+        when(taskRepository.updateIfOwner(taskId, userId, taskRequest, 3L)).thenReturn(Optional.of(4L));
 
-        taskService.update(taskId, taskRequest, userId);
+        assertThat(taskService.update(taskId, taskRequest, userId, 3L)).isEqualTo(4L);
 
-        verify(taskRepository, times(1)).findByIdAndUser_Id(taskId, userId);
-        verify(statusService, times(1)).get(taskRequest.statusId());
-        verify(taskRepository, times(1)).save(any());
+        verify(taskRepository, never()).findByIdAndUser_Id(any(), any());
+        verify(taskEventHandler, times(1)).publish(TaskEventType.TASK_UPDATED, taskId);
+        verify(taskResponseCache, times(1)).evict(taskId);
+    }
+
+    @Test
+    @DisplayName("Обновление задачи, задача не принадлежит пользователю")
+    void update_NotOwner() {
+        Long taskId = 1L;
+        Long userId = 2L;
+        TaskRequest taskRequest = TaskRequest.builder().statusId(1L).priority(1).build();
+        when(taskRepository.updateIfOwner(taskId, userId, taskRequest, null)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndUser_Id(taskId, userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.update(taskId, taskRequest, userId, null))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Задачи с id:1 у пользовтателя с id:2 не существует");
+        verifyNoInteractions(taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Обновление задачи, версия задачи не совпадает с If-Match")
+    void update_VersionConflict() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        TaskRequest taskRequest = TaskRequest.builder().statusId(1L).priority(1).build();
+        Task task = Task.builder().build();
+        task.setId(taskId);
+        task.setVersion(5L);
+        when(taskRepository.updateIfOwner(taskId, userId, taskRequest, 4L)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndUser_Id(taskId, userId)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.update(taskId, taskRequest, userId, 4L))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Задача с id:1 изменена другим запросом: версия 5, ожидалась 4");
+        verifyNoInteractions(taskEventHandler, taskResponseCache);
+    }
+
+    @Test
+    @DisplayName("Обновление задачи, параллельный запрос занял тот же заголовок")
+    void update_ConcurrentDuplicateHeader() {
+        Long taskId = 1L;
+        Long userId = 1L;
+        TaskRequest taskRequest = TaskRequest.builder().header("Задача").statusId(1L).priority(1).build();
+        when(taskRepository.updateIfOwner(taskId, userId, taskRequest, null))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new SQLException("duplicate key value violates unique constraint", "23505")));
+
+        assertThatThrownBy(() -> taskService.update(taskId, taskRequest, userId, null))
+                .isInstanceOf(DuplicateException.class)
+                .hasMessage("Задача с заголовком: Задача уже существует");
+        verify(taskRepository, never()).findByIdAndUser_Id(any(), any());
+        verifyNoInteractions(taskEventHandler, taskResponseCache);
     }
 
     @Test
@@ -240,22 +468,66 @@ class TaskServiceImplTest {
         Long userId = 1L;
         Long statusId = 1L;
 
-        User user = User.builder().build();
-        user.setId(userId);
+        when(taskRepository.updateStatusIfPerformer(taskId, userId, statusId, null)).thenReturn(Optional.of(1L));
 
-        Status status = Status.builder().build();
-        status.setId(statusId);
+        assertThat(taskService.updateStatus(taskId, userId, statusId, null)).isEqualTo(1L);
 
-        when(taskRepository.findById(taskId))
-                .thenReturn(Optional.of(Task.builder()
-                        .performers(new ArrayList<>(Arrays.asList(user))).build()));
-        when(statusService.get(statusId)).thenReturn(status);
+        verify(taskRepository, never()).findWithPerformersById(any());
+        verifyNoInteractions(statusService);
+        verify(taskEventHandler, times(1)).publish(TaskEventType.STATUS_CHANGED, taskId);
+    }
 
-        taskService.updateStatus(taskId, userId, statusId);
+    @Test
+    @DisplayName("Обновление статуса задачи, пользователь не является исполнителем")
+    void updateStatus_NotPerformer() {
+        Long taskId = 1L;
+        Long userId = 3L;
+        Long statusId = 2L;
+
+        when(taskRepository.updateStatusIfPerformer(taskId, userId, statusId, null)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(taskId)).thenReturn(Optional.of(0L));
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskService.updateStatus(taskId, userId, statusId, null))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Пользователь c id:3 не может изменять статус задачи c id:1, " +
+                        "т.к. не является исполнитиелем данной задачи");
+        verifyNoInteractions(taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Обновление статуса задачи, задача изменена между обновлением и проверками")
+    void updateStatus_ConcurrentChange() {
+        Long taskId = 1L;
+        Long userId = 3L;
+        Long statusId = 2L;
+
+        when(taskRepository.updateStatusIfPerformer(taskId, userId, statusId, null)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(taskId)).thenReturn(Optional.of(2L));
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateStatus(taskId, userId, statusId, null))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Задача с id:1 изменена другим запросом, повторите запрос");
+        verify(statusService, times(1)).get(statusId);
+        verifyNoInteractions(taskEventHandler);
+    }
+
+    @Test
+    @DisplayName("Обновление статуса задачи, версия задачи не совпадает с If-Match")
+    void updateStatus_VersionConflict() {
+        Long taskId = 1L;
+        Long userId = 3L;
+        Long statusId = 2L;
+
+        when(taskRepository.updateStatusIfPerformer(taskId, userId, statusId, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(taskId)).thenReturn(Optional.of(2L));
+        when(taskRepository.existsByIdAndPerformers_Id(taskId, userId)).thenReturn(true);
 
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(statusService, times(1)).get(status.getId());
-        verify(taskRepository, times(1)).save(any());
+        assertThatThrownBy(() -> taskService.updateStatus(taskId, userId, statusId, 1L))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Задача с id:1 изменена другим запросом: версия 2, ожидалась 1");
+        verifyNoInteractions(statusService, taskEventHandler);
     }
 
     @Test
@@ -271,5 +543,87 @@ class TaskServiceImplTest {
 
         verify(taskRepository, times(1)).findByIdAndUser_Id(taskId, userId);
         verify(taskRepository, times(1)).delete(any(Task.class));
+        verify(taskMembershipIndex, times(1)).invalidate(taskId);
+    }
+
+    @Test
+    @DisplayName("Получение задач с пагинацией, задачи загружаются по ID страницы в порядке сортировки")
+    void getAll_LoadsPageByIds() {
+        List<TaskResponse> responses = List.of(TaskResponse.builder().taskId(2L).build(),
+                TaskResponse.builder().taskId(1L).build());
+        when(taskRepository.findIds(any(), any(), eq(20L), eq(10))).thenReturn(List.of(2L, 1L));
+        when(taskProjectionRepository.findAllByIds(List.of(2L, 1L), TaskFields.ALL)).thenReturn(responses);
+
+        List<TaskResponse> result = taskService.getAll(where(null), PageRequest.of(2, 10), TaskFields.ALL);
+
+        assertThat(result).isEqualTo(responses);
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    @DisplayName("Получение задач с keyset-пагинацией, есть следующая страница")
+    void getAllByCursor_HasNextPage() {
+        LocalDateTime created = LocalDateTime.of(2024, 8, 1, 12, 0);
+        List<TaskCursor> keys = List.of(new TaskCursor(created, 3L),
+                new TaskCursor(created, 2L),
+                new TaskCursor(created, 1L));
+        when(taskRepository.findKeys(any(), any(), eq(3))).thenReturn(keys);
+
+        TaskCursorResponse response = taskService.getAll(where(null), "", 2, TaskFields.ALL);
+
+        verify(taskProjectionRepository, times(1)).findAllByIds(List.of(3L, 2L), TaskFields.ALL);
+        assertThat(TaskCursor.decode(response.nextCursor())).isEqualTo(new TaskCursor(created, 2L));
+    }
+
+    @Test
+    @DisplayName("Получение задач с keyset-пагинацией, последняя страница")
+    void getAllByCursor_LastPage() {
+        String cursor = new TaskCursor(LocalDateTime.now(), 5L).encode();
+        when(taskRepository.findKeys(any(), any(), eq(21)))
+                .thenReturn(List.of(new TaskCursor(LocalDateTime.now(), 1L)));
+
+        TaskCursorResponse response = taskService.getAll(where(null), cursor, 20, TaskFields.ALL);
+
+        verify(taskProjectionRepository, times(1)).findAllByIds(List.of(1L), TaskFields.ALL);
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Получение задач с keyset-пагинацией, некорректный курсор")
+    void getAllByCursor_InvalidCursor() {
+        assertThatThrownBy(() -> taskService.getAll(where(null), "не-курсор", 20, TaskFields.ALL))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Некорректный курсор пагинации: не-курсор");
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск задач, задачи возвращаются в порядке релевантности")
+    void search_ReturnsTasksInRankOrder() {
+        when(taskRepository.searchIds("автомобиль", null, null, 0L, 20)).thenReturn(List.of(7L, 3L));
+
+        taskService.search("автомобиль", null, null, PageRequest.of(0, 20), TaskFields.ALL);
+
+        verify(taskProjectionRepository, times(1)).findAllByIds(List.of(7L, 3L), TaskFields.ALL);
+    }
+
+    @Test
+    @DisplayName("Получение задач с выбором полей, набор полей передается в запрос проекции")
+    void getAll_PassesRequestedFields() {
+        TaskFields fields = TaskFields.of("header,status", null);
+        when(taskRepository.findIds(any(), any(), eq(0L), eq(20))).thenReturn(List.of(1L));
+
+        taskService.getAll(where(null), PageRequest.of(0, 20), fields);
+
+        verify(taskProjectionRepository, times(1)).findAllByIds(List.of(1L), fields);
+        assertThat(fields.performers()).isFalse();
+        assertThat(fields.comments()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Получение задач с выбором полей, неизвестное поле")
+    void getAll_UnknownField() {
+        assertThatThrownBy(() -> TaskFields.of("header,secret", null))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessageStartingWith("Неизвестное поле задачи: secret");
     }
-}
\ No newline at end of file
+}
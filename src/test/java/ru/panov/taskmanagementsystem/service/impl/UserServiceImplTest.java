@@ -1,10 +1,12 @@
 package ru.panov.taskmanagementsystem.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,7 +23,9 @@ import ru.panov.taskmanagementsystem.model.dto.request.UserRequest;
 import ru.panov.taskmanagementsystem.model.dto.response.JwtTokenResponse;
 import ru.panov.taskmanagementsystem.reposirory.UserRepository;
 import ru.panov.taskmanagementsystem.security.JwtService;
+import ru.panov.taskmanagementsystem.security.PasswordHashingExecutor;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +48,9 @@ class UserServiceImplTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private UserMapper userMapper;
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor =
+            new PasswordHashingExecutor(1, 10, Duration.ofSeconds(5), new SimpleMeterRegistry());
 
     @Test
     @DisplayName("Регистрация, успешная регистрация пользователя")
@@ -129,7 +136,7 @@ class UserServiceImplTest {
                 .email("user1@user1.ru")
                 .password("user1")
                 .build();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userTest));
+        when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(userTest));
 
         User user = userService.getById(userId);
 
@@ -141,7 +148,7 @@ class UserServiceImplTest {
     public void getById_InvalidId_ThrowsNotFoundException() {
         Long userId = 0L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesById(userId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.getById(userId))
                 .isInstanceOf(NotFoundException.class)
@@ -0,0 +1,56 @@
+package ru.panov.taskmanagementsystem.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.panov.taskmanagementsystem.exception.InputDataConflictException;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityVersionTest {
+    private static final Supplier<Long> NOT_REQUESTED = () -> {
+        throw new AssertionError("Текущая версия не должна запрашиваться");
+    };
+
+    @Test
+    @DisplayName("Заголовок не передан или равен *, версия не проверяется")
+    void fromIfMatch_Any() {
+        assertThat(EntityVersion.fromIfMatch(null, NOT_REQUESTED)).isNull();
+        assertThat(EntityVersion.fromIfMatch(" * ", NOT_REQUESTED)).isNull();
+    }
+
+    @Test
+    @DisplayName("Одна сильная версия")
+    void fromIfMatch_Strong() {
+        assertThat(EntityVersion.fromIfMatch("\"3\"", NOT_REQUESTED)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Слабая версия никогда не совпадает при сильном сравнении")
+    void fromIfMatch_Weak() {
+        assertThatThrownBy(() -> EntityVersion.fromIfMatch("W/\"3\"", NOT_REQUESTED))
+                .isInstanceOf(InputDataConflictException.class)
+                .hasMessage("Условие If-Match: W/\"3\" не совпадает с текущей версией");
+        assertThat(EntityVersion.fromIfMatch("W/\"3\", \"4\"", NOT_REQUESTED)).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Список версий: выбирается текущая версия, если она есть в списке")
+    void fromIfMatch_List() {
+        assertThat(EntityVersion.fromIfMatch("\"3\", \"4\"", () -> 4L)).isEqualTo(4L);
+        assertThat(EntityVersion.fromIfMatch("\"3\",\"4\"", () -> 3L)).isEqualTo(3L);
+        assertThat(EntityVersion.fromIfMatch("\"3\", \"4\"", () -> 5L)).isEqualTo(3L);
+        assertThat(EntityVersion.fromIfMatch("\"3\", \"3\"", NOT_REQUESTED)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Заголовок без версий, выданных сервером")
+    void fromIfMatch_NotServerVersion() {
+        assertThatThrownBy(() -> EntityVersion.fromIfMatch("\"abc\", \"1-2-3\"", NOT_REQUESTED))
+                .isInstanceOf(InputDataConflictException.class);
+        assertThatThrownBy(() -> EntityVersion.fromIfMatch("3", NOT_REQUESTED))
+                .isInstanceOf(InputDataConflictException.class);
+    }
+}